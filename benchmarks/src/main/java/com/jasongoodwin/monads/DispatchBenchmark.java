@@ -0,0 +1,84 @@
+package com.jasongoodwin.monads;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch cost of Try calls at a call site that sees only successes (monomorphic)
+ * or a mix of successes and failures (bimorphic).
+ * Success and Failure are the only, final, implementations, so both cases should inline.
+ * To check, add the inlining diagnostics:
+ *
+ * sbt "benchmarks/jmh:run DispatchBenchmark -jvmArgsAppend -XX:+UnlockDiagnosticVMOptions -jvmArgsAppend -XX:+PrintInlining"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+    private static final int SIZE = 1024;
+
+    /**
+     * Percentage of failures in the array, 0 keeps the call sites monomorphic.
+     */
+    @Param({"0", "10", "50"})
+    private int failurePercent;
+
+    private Try<Integer>[] tries;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        Random random = new Random(42);
+        Throwable e = new IllegalStateException();
+        tries = (Try<Integer>[]) new Try<?>[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            tries[i] = random.nextInt(100) < failurePercent ? Try.failure(e) : Try.successful(i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int fold() {
+        int sum = 0;
+        for (Try<Integer> t : tries) {
+            sum += t.fold(x -> x, e -> -1);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int mapOrElse() {
+        int sum = 0;
+        for (Try<Integer> t : tries) {
+            sum += t.map(x -> x + 1).orElse(-1);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int instanceOfMatch() {
+        int sum = 0;
+        for (Try<Integer> t : tries) {
+            sum += t instanceof Success ? ((Success<Integer>) t).value() : -1;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,77 @@
+package com.jasongoodwin.monads;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for Futures.sequence from 10 to 1M futures.
+ * sequenceCompleted measures the aggregation alone over futures that are already done.
+ * sequencePending builds the dependent stages first and then completes the futures, which is the usual case.
+ *
+ * sbt "benchmarks/jmh:run -prof gc FuturesBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FuturesBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    private int size;
+
+    private List<CompletableFuture<Integer>> completed;
+
+    @Setup
+    public void setup() {
+        completed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            completed.add(CompletableFuture.completedFuture(i));
+        }
+    }
+
+    @Benchmark
+    public List<Integer> sequenceCompleted() {
+        return Futures.sequence(completed).join();
+    }
+
+    @Benchmark
+    public List<Integer> sequencePending() {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            futures.add(new CompletableFuture<>());
+        }
+        CompletableFuture<List<Integer>> result = Futures.sequence(futures);
+        for (int i = 0; i < size; i++) {
+            futures.get(i).complete(i);
+        }
+        return result.join();
+    }
+
+    @Benchmark
+    public List<Integer> sequenceFailFastPending() {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            futures.add(new CompletableFuture<>());
+        }
+        CompletableFuture<List<Integer>> result = Futures.sequenceFailFast(futures);
+        for (int i = 0; i < size; i++) {
+            futures.get(i).complete(i);
+        }
+        return result.join();
+    }
+}
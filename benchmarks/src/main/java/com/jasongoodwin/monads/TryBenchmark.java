@@ -0,0 +1,153 @@
+package com.jasongoodwin.monads;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot path benchmarks for Try.
+ * The baseline* benchmarks do the same work with a plain try/catch so the overhead of the monad can be read off directly.
+ * Run with the gc profiler to see allocation rates:
+ *
+ * sbt "benchmarks/jmh:run -prof gc TryBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TryBenchmark {
+    private String number = "12345";
+    private String notANumber = "twelve";
+
+    private Try<String> success = Try.successful("12345");
+    private Try<String> failure = Try.failure(new IllegalStateException("failed"));
+
+    @Benchmark
+    public int baselineTryCatchSuccess() {
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public int baselineTryCatchFailure() {
+        try {
+            return Integer.parseInt(notANumber);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public Try<Integer> ofFailableSuccess() {
+        return Try.ofFailable(() -> Integer.valueOf(number));
+    }
+
+    @Benchmark
+    public Try<Integer> ofFailableFailure() {
+        return Try.ofFailable(() -> Integer.valueOf(notANumber));
+    }
+
+    @Benchmark
+    public Try<Integer> mapChainSuccess() {
+        return success
+                .map(Integer::valueOf)
+                .map(x -> x + 1)
+                .map(x -> x * 2)
+                .map(x -> x - 1)
+                .map(x -> x / 2);
+    }
+
+    @Benchmark
+    public Try<Integer> flatMapChainSuccess() {
+        return success
+                .flatMap(x -> Try.successful(Integer.valueOf(x)))
+                .flatMap(x -> Try.successful(x + 1))
+                .flatMap(x -> Try.successful(x * 2))
+                .flatMap(x -> Try.successful(x - 1))
+                .flatMap(x -> Try.successful(x / 2));
+    }
+
+    @Benchmark
+    public Try<Integer> failurePropagation() {
+        return failure
+                .map(Integer::valueOf)
+                .map(x -> x + 1)
+                .flatMap(x -> Try.successful(x * 2))
+                .map(x -> x - 1)
+                .flatMap(x -> Try.successful(x / 2));
+    }
+
+    @Benchmark
+    public String recoverFailure() {
+        return failure.recover(t -> number);
+    }
+
+    @Benchmark
+    public Try<String> recoverWithFailure() {
+        return failure.recoverWith(t -> Try.successful(number));
+    }
+
+    @Benchmark
+    public String recoverSuccess() {
+        return success.recover(t -> notANumber);
+    }
+
+    @Benchmark
+    public Try<String> filterMiss() {
+        return success.filter(String::isEmpty);
+    }
+
+    @Benchmark
+    public Try<String> filterNoTraceMiss() {
+        return success.filterNoTrace(String::isEmpty);
+    }
+
+    @Benchmark
+    public Try<String> failureNoTrace() {
+        return Try.failureNoTrace("failed");
+    }
+
+    @Benchmark
+    public Try<String> failureWrappedWithContext() {
+        return failure.recoverWith(t -> Try.failure(new RuntimeException("stage=parse", t)));
+    }
+
+    @Benchmark
+    public Try<String> failureContext() {
+        return failure.mapFailureContext("stage", "parse");
+    }
+
+    @Benchmark
+    public Integer lazyMapChainSuccess() {
+        return Try.lazy(() -> number)
+                .<Integer>map(Integer::valueOf)
+                .map(x -> x + 1)
+                .map(x -> x * 2)
+                .map(x -> x - 1)
+                .map(x -> x / 2)
+                .orElse(-1);
+    }
+
+    @Benchmark
+    public int tryIntMapChainSuccess() {
+        return TryInt.ofFailable(() -> Integer.parseInt(number))
+                .map(x -> x + 1)
+                .map(x -> x * 2)
+                .map(x -> x - 1)
+                .map(x -> x / 2)
+                .orElse(-1);
+    }
+}
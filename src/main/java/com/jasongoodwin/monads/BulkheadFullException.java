@@ -0,0 +1,13 @@
+package com.jasongoodwin.monads;
+
+/**
+ * Failure returned by TryBulkhead when every permit is taken and, for async calls, its queue is full.
+ * There is one preallocated, shared instance per bulkhead, so it has no stack trace and no suppressed exceptions.
+ */
+public class BulkheadFullException extends StacklessException {
+    private static final long serialVersionUID = 1L;
+
+    public BulkheadFullException(String message) {
+        super(message, null, false);
+    }
+}
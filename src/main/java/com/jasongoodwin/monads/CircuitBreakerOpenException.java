@@ -0,0 +1,13 @@
+package com.jasongoodwin.monads;
+
+/**
+ * Failure returned by TryCircuitBreaker while it is open.
+ * There is one preallocated, shared instance per breaker, so it has no stack trace and no suppressed exceptions.
+ */
+public class CircuitBreakerOpenException extends StacklessException {
+    private static final long serialVersionUID = 1L;
+
+    public CircuitBreakerOpenException(String message) {
+        super(message, null, false);
+    }
+}
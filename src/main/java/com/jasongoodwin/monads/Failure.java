@@ -0,0 +1,182 @@
+package com.jasongoodwin.monads;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Failed Try holding the throwable that caused the failure.
+ *
+ * @param <T> type the Try would have held on success
+ */
+public final class Failure<T> extends Try<T> {
+    private static final Failure<?> PREDICATE_MISMATCH =
+            new Failure<>(new PredicateMismatchException("Predicate does not match"));
+
+    private final Throwable e;
+    private final FailureContext context;
+
+    Failure(Throwable e) {
+        this(e, null);
+    }
+
+    private Failure(Throwable e, FailureContext context) {
+        this.e = e;
+        this.context = context;
+    }
+
+    /**
+     * @return the cause of the failure, eg after matching with instanceof
+     */
+    public Throwable cause() {
+        return e;
+    }
+
+    /**
+     * @return the context added with mapFailureContext, in the order it was added
+     */
+    public Map<String, Object> context() {
+        return context == null ? Collections.emptyMap() : context.toMap();
+    }
+
+    @Override
+    public Try<T> mapFailureContext(String key, Object value) {
+        Objects.requireNonNull(key);
+        return new Failure<>(e, FailureContext.with(context, key, value));
+    }
+
+    /**
+     * The failure is unchanged, only the type parameter is, so this instance is passed on rather than copied.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U> Try<U> map(TryMapFunction<? super T, ? extends U> f) {
+        Objects.requireNonNull(f);
+        return (Try<U>) this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U> Try<U> flatMap(TryMapFunction<? super T, Try<U>> f) {
+        Objects.requireNonNull(f);
+        return (Try<U>) this;
+    }
+
+    @Override
+    public T recover(Function<? super Throwable, T> f) {
+        Objects.requireNonNull(f);
+        Instrumentation.recovered(e);
+        return f.apply(e);
+    }
+
+    @Override
+    public Try<T> recoverWith(TryMapFunction<? super Throwable, Try<T>> f) {
+        Objects.requireNonNull(f);
+        Instrumentation.recovered(e);
+        try{
+            return f.apply(e);
+        }catch(Throwable t){
+            return Try.failure(t);
+        }
+    }
+
+    @Override
+    public T orElse(T value) {
+        return value;
+    }
+
+    @Override
+    public Try<T> orElseTry(TrySupplier<T> f) {
+        Objects.requireNonNull(f);
+        return Try.ofFailable(f);
+    }
+
+    @Override
+    public <X extends Throwable> T orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
+        throw exceptionSupplier.get();
+    }
+
+    @Override
+    public T get() throws Throwable {
+        throw e;
+    }
+
+    @Override
+    public T getUnchecked() {
+        throw withContext(new RuntimeException(e));
+    }
+
+    @Override
+    public T getOrRethrow() {
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw withContext(new StacklessException(e.toString(), e));
+    }
+
+    /**
+     * Attach the context to a wrapper created for this call.
+     * The cause itself is never changed, as it may be shared by other Failures or be a preallocated instance.
+     */
+    private <X extends Throwable> X withContext(X wrapper) {
+        if (context != null) {
+            wrapper.addSuppressed(new FailureContextException(context.toMap()));
+        }
+        return wrapper;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return false;
+    }
+
+    @Override
+    public <E extends Throwable> Try<T> onSuccess(TryConsumer<T, E> action) {
+      return this;
+    }
+
+    @Override
+    public Try<T> filter(Predicate<T> pred) {
+        return this;
+    }
+
+    @Override
+    public Try<T> filterNoTrace(Predicate<T> pred) {
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <U> Try<U> predicateMismatch() {
+        return (Try<U>) PREDICATE_MISMATCH;
+    }
+
+    @Override
+    public <R> R fold(Function<? super T, ? extends R> onSuccess, Function<? super Throwable, ? extends R> onFailure) {
+        Objects.requireNonNull(onSuccess);
+        return onFailure.apply(e);
+    }
+
+    @Override
+    public Optional<T> toOptional() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return Stream.empty();
+    }
+
+    @Override
+    public <E extends Throwable> Try<T> onFailure(TryConsumer<Throwable, E> action) throws E {
+      action.accept(e);
+      return this;
+    }
+}
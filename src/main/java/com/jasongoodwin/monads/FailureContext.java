@@ -0,0 +1,47 @@
+package com.jasongoodwin.monads;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable key-value context of a Failure, see Try.mapFailureContext.
+ * Each entry links to the context it was added to, so adding one allocates a single node and contexts
+ * derived from the same Failure share their common entries. It only becomes a Map when read.
+ */
+final class FailureContext {
+    private final String key;
+    private final Object value;
+    private final FailureContext parent;
+
+    private FailureContext(String key, Object value, FailureContext parent) {
+        this.key = key;
+        this.value = value;
+        this.parent = parent;
+    }
+
+    /**
+     * @param context context to add to, or null for none
+     * @return the context with the entry added
+     */
+    static FailureContext with(FailureContext context, String key, Object value) {
+        return new FailureContext(key, value, context);
+    }
+
+    /**
+     * @return the entries in the order they were added, where a later value for a key replaces the earlier one
+     */
+    Map<String, Object> toMap() {
+        Deque<FailureContext> entries = new ArrayDeque<>();
+        for (FailureContext c = this; c != null; c = c.parent) {
+            entries.push(c);
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (FailureContext c : entries) {
+            map.put(c.key, c.value);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,29 @@
+package com.jasongoodwin.monads;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Carries the context of a Failure, attached as a suppressed exception to the wrapper thrown by getUnchecked,
+ * or by getOrRethrow for a checked cause. The message is only built when asked for.
+ */
+public class FailureContextException extends StacklessException {
+    private static final long serialVersionUID = 1L;
+
+    private final LinkedHashMap<String, Object> context;
+
+    public FailureContextException(Map<String, Object> context) {
+        super(null);
+        this.context = new LinkedHashMap<>(context);
+    }
+
+    public Map<String, Object> getContext() {
+        return Collections.unmodifiableMap(context);
+    }
+
+    @Override
+    public String getMessage() {
+        return "Failure context: " + context;
+    }
+}
@@ -1,24 +1,620 @@
 package com.jasongoodwin.monads;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 public class Futures {
     /**
      * Convert List of CompletableFutures to CompletableFuture with a List.
+     * Waits for every future; if any of them failed the result fails with the first failure seen.
      * @param futures List of Futures
      * @param <T> type
-     * @return CompletableFuture with a List
+     * @return CompletableFuture with a mutable ArrayList
      */
 
     public static <T> CompletableFuture<List<T>> sequence(List<CompletableFuture<T>> futures) {
-        return CompletableFuture.
-                allOf(futures.toArray(new CompletableFuture[futures.size()])).
-                thenApply(v ->
-                                futures.stream().
-                                        map(CompletableFuture::join).
-                                        collect(Collectors.toList())
-                );
+        return new Sequence<>(futures, false, false).start();
+    }
+
+    /**
+     * Like sequence, but fails with a StacklessTimeoutException if the list isn't complete within the timeout.
+     * @param futures List of Futures
+     * @param timeout time allowed for all futures
+     * @param <T> type
+     * @return CompletableFuture with a mutable ArrayList
+     */
+    public static <T> CompletableFuture<List<T>> sequence(List<CompletableFuture<T>> futures, Duration timeout) {
+        return failAfter(sequence(futures), timeout);
+    }
+
+    /**
+     * Like sequence, but completes exceptionally as soon as any future fails, without waiting for the rest.
+     * @param futures List of Futures
+     * @param <T> type
+     * @return CompletableFuture with a mutable ArrayList
+     */
+    public static <T> CompletableFuture<List<T>> sequenceFailFast(List<CompletableFuture<T>> futures) {
+        return sequenceFailFast(futures, false);
+    }
+
+    /**
+     * Like sequence, but completes exceptionally as soon as any future fails, without waiting for the rest.
+     * @param futures List of Futures
+     * @param cancelRemaining cancel the futures that haven't completed yet when one fails
+     * @param <T> type
+     * @return CompletableFuture with a mutable ArrayList
+     */
+    public static <T> CompletableFuture<List<T>> sequenceFailFast(List<CompletableFuture<T>> futures,
+                                                                  boolean cancelRemaining) {
+        return new Sequence<>(futures, true, cancelRemaining).start();
+    }
+
+    /**
+     * Apply f to each input on the executor, with at most maxInFlight calls running at a time.
+     * The next input is started as soon as a running call completes.
+     * Fails fast: on the first failure the result completes exceptionally and no further inputs are started.
+     * @param inputs values to apply f to
+     * @param f function to run for each input
+     * @param maxInFlight maximum number of calls running at once
+     * @param executor executor to run f on
+     * @param <T> input type
+     * @param <U> result type
+     * @return CompletableFuture with a mutable ArrayList of results in input order
+     */
+    public static <T, U> CompletableFuture<List<U>> traverse(Collection<T> inputs,
+                                                             TryMapFunction<? super T, ? extends U> f,
+                                                             int maxInFlight,
+                                                             Executor executor) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(executor);
+        return traverseAsync(inputs, x -> runAsync(x, f, executor), maxInFlight);
+    }
+
+    /**
+     * Like traverse, but fails with a StacklessTimeoutException if the inputs aren't all done within the timeout.
+     * No further inputs are started once the deadline has passed.
+     * @param inputs values to apply f to
+     * @param f function to run for each input
+     * @param maxInFlight maximum number of calls running at once
+     * @param executor executor to run f on
+     * @param timeout time allowed for all inputs
+     * @param <T> input type
+     * @param <U> result type
+     * @return CompletableFuture with a mutable ArrayList of results in input order
+     */
+    public static <T, U> CompletableFuture<List<U>> traverse(Collection<T> inputs,
+                                                             TryMapFunction<? super T, ? extends U> f,
+                                                             int maxInFlight,
+                                                             Executor executor,
+                                                             Duration timeout) {
+        return failAfter(traverse(inputs, f, maxInFlight, executor), timeout);
+    }
+
+    /**
+     * Like traverse, for functions that are already asynchronous, eg a non-blocking client call.
+     * f is only called for an input once a slot is free, so at most maxInFlight futures are outstanding.
+     * @param inputs values to apply f to
+     * @param f function starting the async work for an input
+     * @param maxInFlight maximum number of futures outstanding at once
+     * @param <T> input type
+     * @param <U> result type
+     * @return CompletableFuture with a mutable ArrayList of results in input order
+     */
+    public static <T, U> CompletableFuture<List<U>> traverseAsync(Collection<T> inputs,
+                                                                  Function<? super T, ? extends CompletionStage<U>> f,
+                                                                  int maxInFlight) {
+        Objects.requireNonNull(inputs);
+        Objects.requireNonNull(f);
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        return new Traverse<T, U>(inputs.toArray(), f, maxInFlight).start();
+    }
+
+    /**
+     * Complete with the first future to succeed, ignoring failures unless every future fails.
+     * Unlike CompletableFuture.anyOf this is typed and doesn't finish on the first failure.
+     * @param futures List of Futures
+     * @param <T> type
+     * @return CompletableFuture with the first successful value, or failed with a StacklessException
+     *         holding the cause of every future as suppressed exceptions, in list order
+     */
+    public static <T> CompletableFuture<T> firstSuccessful(List<CompletableFuture<T>> futures) {
+        return firstSuccessful(futures, false);
+    }
+
+    /**
+     * Like firstSuccessful, optionally cancelling the futures still running once one has succeeded.
+     * @param futures List of Futures
+     * @param cancelRemaining cancel the other futures when one succeeds
+     * @param <T> type
+     * @return CompletableFuture with the first successful value
+     */
+    public static <T> CompletableFuture<T> firstSuccessful(List<CompletableFuture<T>> futures, boolean cancelRemaining) {
+        Objects.requireNonNull(futures);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Throwable[] causes = new Throwable[futures.size()];
+        AtomicInteger remaining = new AtomicInteger(causes.length);
+        if (causes.length == 0) {
+            result.completeExceptionally(new StacklessException("No futures to complete"));
+            return result;
+        }
+
+        int i = 0;
+        for (CompletableFuture<T> future : futures) {
+            int index = i++;
+            future.whenComplete((value, e) -> {
+                if (e == null) {
+                    if (result.complete(value) && cancelRemaining) {
+                        futures.forEach(f -> f.cancel(false));
+                    }
+                    return;
+                }
+                causes[index] = unwrap(e);
+                if (remaining.decrementAndGet() == 0) {
+                    result.completeExceptionally(allFailed(causes));
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Hedged request: run the supplier, and if it hasn't succeeded after the delay start a backup attempt,
+     * up to maxHedges backups. A failed attempt starts the next backup straight away.
+     * The first success completes the result and the other attempts are cancelled with interruption.
+     * @param f supplier to run, eg a read against replicated backends
+     * @param delay time to wait before each backup attempt
+     * @param maxHedges maximum number of backup attempts
+     * @param executor executor to run attempts on
+     * @param <T> type
+     * @return CompletableFuture with the first successful value, or failed when every attempt failed
+     */
+    public static <T> CompletableFuture<T> hedge(TrySupplier<T> f, Duration delay, int maxHedges, Executor executor) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(delay);
+        Objects.requireNonNull(executor);
+        if (maxHedges < 0) {
+            throw new IllegalArgumentException("maxHedges must not be negative: " + maxHedges);
+        }
+        return new Hedge<>(f, delay.toNanos(), maxHedges + 1, executor).start();
+    }
+
+    private static Throwable allFailed(Throwable[] causes) {
+        StacklessException e = new StacklessException("All " + causes.length + " attempts failed");
+        for (Throwable cause : causes) {
+            e.addSuppressed(cause);
+        }
+        return e;
+    }
+
+    /**
+     * Complete with the future's outcome, or fail with a StacklessTimeoutException if it takes longer than the timeout.
+     * The timeout runs on a shared timer thread; the original future is left running.
+     * @param future future to time out
+     * @param timeout time allowed
+     * @param <T> type
+     * @return a new CompletableFuture
+     */
+    public static <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future, Duration timeout) {
+        Objects.requireNonNull(future);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((v, e) -> {
+            if (e == null) {
+                result.complete(v);
+            } else {
+                result.completeExceptionally(e);
+            }
+        });
+        return failAfter(result, timeout);
+    }
+
+    /**
+     * Schedule the future to fail with a StacklessTimeoutException after the timeout,
+     * cancelling the timer if it completes first.
+     */
+    static <T> CompletableFuture<T> failAfter(CompletableFuture<T> future, Duration timeout) {
+        Objects.requireNonNull(timeout);
+        if (future.isDone()) {
+            return future;
+        }
+        ScheduledFuture<?> timer = SharedScheduler.schedule(
+                () -> future.completeExceptionally(new StacklessTimeoutException("Timed out after " + timeout)),
+                timeout.toNanos());
+        future.whenComplete((v, e) -> timer.cancel(false));
+        return future;
+    }
+
+    /**
+     * Run a blocking TrySupplier on the default blocking executor.
+     * On Java 21 and later that is a virtual-thread-per-task executor, otherwise a cached pool of daemon threads.
+     * Either way blocking calls don't tie up the common ForkJoinPool used by CompletableFuture.supplyAsync.
+     * @param f supplier to run
+     * @param <T> type
+     * @return CompletableFuture completing with the supplied value or exceptionally with what it threw
+     */
+    public static <T> CompletableFuture<T> supplyTry(TrySupplier<T> f) {
+        return supplyTry(f, blockingExecutor());
+    }
+
+    /**
+     * Run a TrySupplier on the given executor.
+     * If the executor rejects the task the future completes exceptionally with the rejection.
+     * @param f supplier to run
+     * @param executor executor to run on
+     * @param <T> type
+     * @return CompletableFuture completing with the supplied value or exceptionally with what it threw
+     */
+    public static <T> CompletableFuture<T> supplyTry(TrySupplier<T> f, Executor executor) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(executor);
+
+        CompletableFuture<T> future = Instrumentation.time("Futures.supplyTry", new CompletableFuture<>());
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(f.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    /**
+     * Record the time from now until the future completes as the latency of the named stage,
+     * when instrumentation is enabled (see Instrumentation). Otherwise this does nothing.
+     * @param stage name of the stage
+     * @param future future to time
+     * @param <T> type
+     * @return the same future
+     */
+    public static <T> CompletableFuture<T> timed(String stage, CompletableFuture<T> future) {
+        Objects.requireNonNull(stage);
+        return Instrumentation.time(stage, Objects.requireNonNull(future));
+    }
+
+    /**
+     * The executor used for blocking work when none is given.
+     * A virtual-thread-per-task executor when the runtime has one (Java 21+), otherwise a cached pool of daemon threads.
+     * @return shared executor for blocking work
+     */
+    public static Executor blockingExecutor() {
+        return BlockingExecutor.INSTANCE;
+    }
+
+    /**
+     * Runs the supplier on the default blocking executor until it succeeds or the policy says to stop.
+     * Backoff delays are scheduled on a shared timer, so no thread sleeps between attempts.
+     * @param f supplier to run
+     * @param policy retry policy
+     * @param <T> type
+     * @return CompletableFuture completing with the first success, or exceptionally with the last failure
+     */
+    public static <T> CompletableFuture<T> retry(TrySupplier<T> f, RetryPolicy policy) {
+        return retry(f, policy, blockingExecutor());
+    }
+
+    /**
+     * Runs the supplier on the given executor until it succeeds or the policy says to stop.
+     * Cancelling the returned future stops further attempts.
+     * @param f supplier to run
+     * @param policy retry policy
+     * @param executor executor to run attempts on
+     * @param <T> type
+     * @return CompletableFuture completing with the first success, or exceptionally with the last failure
+     */
+    public static <T> CompletableFuture<T> retry(TrySupplier<T> f, RetryPolicy policy, Executor executor) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(policy);
+        Objects.requireNonNull(executor);
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(f, policy, executor, result, 1, System.nanoTime());
+        return result;
+    }
+
+    private static <T> void attempt(TrySupplier<T> f, RetryPolicy policy, Executor executor,
+                                    CompletableFuture<T> result, int attempts, long start) {
+        if (result.isDone()) {
+            return;
+        }
+        supplyTry(f, executor).whenComplete((value, e) -> {
+            if (e == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(e);
+            long delay = policy.nextDelayNanos(attempts, cause, start);
+            if (delay < 0) {
+                result.completeExceptionally(cause);
+            } else {
+                SharedScheduler.schedule(() -> attempt(f, policy, executor, result, attempts + 1, start), delay);
+            }
+        });
+    }
+
+    private static <T, U> CompletableFuture<U> runAsync(T input, TryMapFunction<? super T, ? extends U> f, Executor executor) {
+        return supplyTry(() -> f.apply(input), executor);
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    }
+
+    private static Throwable wrap(Throwable t) {
+        return t instanceof CompletionException ? t : new CompletionException(t);
+    }
+
+    /**
+     * Holder for the default blocking executor, created on first use.
+     * The virtual thread executor is looked up reflectively so the library still runs on Java 8.
+     */
+    private static final class BlockingExecutor {
+        static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            try {
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                AtomicInteger count = new AtomicInteger();
+                return Executors.newCachedThreadPool(r -> {
+                    Thread thread = new Thread(r, "better-monads-blocking-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+
+    /**
+     * Attempts of a hedged request, each run as a FutureTask so losers can be interrupted.
+     */
+    private static final class Hedge<T> {
+        private final TrySupplier<T> f;
+        private final long delayNanos;
+        private final Executor executor;
+        private final FutureTask<?>[] tasks;
+        private final Throwable[] causes;
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger winner = new AtomicInteger(-1);
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private int started;
+        private ScheduledFuture<?> timer;
+
+        Hedge(TrySupplier<T> f, long delayNanos, int attempts, Executor executor) {
+            this.f = f;
+            this.delayNanos = delayNanos;
+            this.executor = executor;
+            this.tasks = new FutureTask<?>[attempts];
+            this.causes = new Throwable[attempts];
+        }
+
+        CompletableFuture<T> start() {
+            result.whenComplete((v, e) -> cancel());
+            launch(0);
+            return result;
+        }
+
+        /**
+         * Start the attempt unless it has already been started, eg by a failure before its timer fired.
+         * Each launch replaces the pending timer, so every backup waits the full delay after the previous attempt.
+         */
+        private void launch(int attempt) {
+            FutureTask<Void> task;
+            synchronized (this) {
+                if (result.isDone() || attempt != started) {
+                    return;
+                }
+                started++;
+                task = new FutureTask<>(() -> attempt(attempt), null);
+                tasks[attempt] = task;
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+                timer = started < tasks.length ? SharedScheduler.schedule(() -> launch(attempt + 1), delayNanos) : null;
+            }
+            try {
+                executor.execute(task);
+            } catch (Throwable t) {
+                task.cancel(false);
+                onFailure(attempt, t);
+            }
+        }
+
+        private void attempt(int index) {
+            try {
+                T value = f.get();
+                if (winner.compareAndSet(-1, index)) {
+                    result.complete(value);
+                }
+            } catch (Throwable t) {
+                onFailure(index, t);
+            }
+        }
+
+        private void onFailure(int index, Throwable t) {
+            causes[index] = t;
+            if (failed.incrementAndGet() == tasks.length) {
+                result.completeExceptionally(allFailed(causes));
+                return;
+            }
+            int next;
+            synchronized (this) {
+                next = started;
+            }
+            if (next < tasks.length) {
+                launch(next);
+            }
+        }
+
+        private void cancel() {
+            synchronized (this) {
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+                started = tasks.length;
+            }
+            // the winner and failed attempts may still be on this thread's stack (eg a direct executor),
+            // so only interrupt attempts that haven't finished
+            int won = winner.get();
+            for (int i = 0; i < tasks.length; i++) {
+                if (tasks[i] != null && i != won && causes[i] == null) {
+                    tasks[i].cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the results of a list of futures.
+     * Each future gets a single dependent action writing into its slot of the results array,
+     * and a countdown completes the result when the last one is done.
+     * This keeps the dependency graph flat instead of the tree built by CompletableFuture.allOf.
+     */
+    private static final class Sequence<T> {
+        private final List<CompletableFuture<T>> futures;
+        private final boolean failFast;
+        private final boolean cancelRemaining;
+        private final Object[] results;
+        private final AtomicInteger remaining;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+
+        Sequence(List<CompletableFuture<T>> futures, boolean failFast, boolean cancelRemaining) {
+            this.futures = futures;
+            this.failFast = failFast;
+            this.cancelRemaining = cancelRemaining;
+            this.results = new Object[futures.size()];
+            this.remaining = new AtomicInteger(results.length);
+        }
+
+        CompletableFuture<List<T>> start() {
+            if (results.length == 0) {
+                result.complete(list());
+                return result;
+            }
+            int i = 0;
+            for (CompletableFuture<T> future : futures) {
+                int index = i++;
+                future.whenComplete((value, t) -> onComplete(index, value, t));
+            }
+            return result;
+        }
+
+        private void onComplete(int index, T value, Throwable t) {
+            if (t == null) {
+                results[index] = value;
+            } else if (failure.compareAndSet(null, t) && failFast) {
+                result.completeExceptionally(wrap(t));
+                if (cancelRemaining) {
+                    for (CompletableFuture<T> future : futures) {
+                        future.cancel(false);
+                    }
+                }
+            }
+
+            if (remaining.decrementAndGet() == 0) {
+                Throwable f = failure.get();
+                if (f == null) {
+                    result.complete(list());
+                } else {
+                    result.completeExceptionally(wrap(f));
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<T> list() {
+            return new ArrayList<>((List<T>) Arrays.asList(results));
+        }
+    }
+
+    /**
+     * Bounded traverse.
+     * Starting inputs is serialized through a work-in-progress counter so that futures completing synchronously
+     * loop in drain rather than recursing through the completion handlers.
+     */
+    private static final class Traverse<T, U> {
+        private final Object[] inputs;
+        private final Function<? super T, ? extends CompletionStage<U>> f;
+        private final int maxInFlight;
+        private final Object[] results;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final CompletableFuture<List<U>> result = new CompletableFuture<>();
+        private int next;
+
+        Traverse(Object[] inputs, Function<? super T, ? extends CompletionStage<U>> f, int maxInFlight) {
+            this.inputs = inputs;
+            this.f = f;
+            this.maxInFlight = maxInFlight;
+            this.results = new Object[inputs.length];
+            this.remaining = new AtomicInteger(inputs.length);
+        }
+
+        CompletableFuture<List<U>> start() {
+            if (inputs.length == 0) {
+                result.complete(list());
+            } else {
+                drain();
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (next < inputs.length && inFlight.get() < maxInFlight && !result.isDone()) {
+                    int index = next++;
+                    inFlight.incrementAndGet();
+                    try {
+                        f.apply((T) inputs[index]).whenComplete((value, t) -> onComplete(index, value, t));
+                    } catch (Throwable t) {
+                        onComplete(index, null, t);
+                    }
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private void onComplete(int index, U value, Throwable t) {
+            if (t != null) {
+                result.completeExceptionally(wrap(t));
+                return;
+            }
+            results[index] = value;
+            if (remaining.decrementAndGet() == 0) {
+                result.complete(list());
+                return;
+            }
+            inFlight.decrementAndGet();
+            drain();
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<U> list() {
+            return new ArrayList<>((List<U>) Arrays.asList(results));
+        }
     }
 }
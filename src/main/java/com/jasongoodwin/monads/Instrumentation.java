@@ -0,0 +1,69 @@
+package com.jasongoodwin.monads;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Switch and installation point for TryInstrumentation.
+ *
+ * Instrumentation is off unless the JVM is started with -Dcom.jasongoodwin.monads.instrumentation=true.
+ * The switch is a static final so with it off the JIT folds every hook call site away.
+ * With it on, install a TryInstrumentation such as TryMetrics to receive the events.
+ */
+public final class Instrumentation {
+    public static final boolean ENABLED = Boolean.getBoolean("com.jasongoodwin.monads.instrumentation");
+
+    private static final TryInstrumentation NOOP = new TryInstrumentation() {
+    };
+
+    private static volatile TryInstrumentation hook = NOOP;
+
+    private Instrumentation() {
+    }
+
+    /**
+     * @param instrumentation hooks to call from now on
+     * @throws IllegalStateException if instrumentation is not enabled for this JVM
+     */
+    public static void install(TryInstrumentation instrumentation) {
+        Objects.requireNonNull(instrumentation);
+        if (!ENABLED) {
+            throw new IllegalStateException(
+                    "Instrumentation is disabled, start the JVM with -Dcom.jasongoodwin.monads.instrumentation=true");
+        }
+        hook = instrumentation;
+    }
+
+    /**
+     * Go back to the no-op hooks.
+     */
+    public static void uninstall() {
+        hook = NOOP;
+    }
+
+    static void success(TryInstrumentation.Operation operation) {
+        if (ENABLED) {
+            hook.success(operation);
+        }
+    }
+
+    static void failure(TryInstrumentation.Operation operation, Throwable t) {
+        if (ENABLED) {
+            hook.failure(operation, t);
+        }
+    }
+
+    static void recovered(Throwable t) {
+        if (ENABLED) {
+            hook.recovered(t);
+        }
+    }
+
+    static <T> CompletableFuture<T> time(String stage, CompletableFuture<T> future) {
+        if (ENABLED) {
+            long start = System.nanoTime();
+            future.whenComplete((v, e) -> hook.latency(stage, System.nanoTime() - start));
+        }
+        return future;
+    }
+}
@@ -0,0 +1,118 @@
+package com.jasongoodwin.monads;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Deferred, memoized Try.
+ * The supplier runs at most once, the first time the LazyTry is forced, and the resulting Try is kept.
+ * Forcing is thread-safe: the result is published through a volatile field with double-checked locking,
+ * so any thread may force it and all threads see the same Try.
+ *
+ * map and flatMap return new LazyTrys which force this one only when they are forced themselves,
+ * so values nobody reads cost nothing but the lambdas. A failure is passed on as the same Failure instance.
+ *
+ * @param <T> type
+ */
+public final class LazyTry<T> {
+    private Supplier<Try<T>> supplier;
+    private volatile Try<T> result;
+
+    private LazyTry(Supplier<Try<T>> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * @param f supplier to defer
+     * @param <U> Type
+     * @return a new, unevaluated LazyTry
+     */
+    public static <U> LazyTry<U> of(TrySupplier<U> f) {
+        Objects.requireNonNull(f);
+        return new LazyTry<>(() -> Try.ofFailable(f));
+    }
+
+    /**
+     * Run the supplier if it hasn't run yet.
+     * @return the memoized Try
+     */
+    public Try<T> force() {
+        Try<T> r = result;
+        if (r == null) {
+            synchronized (this) {
+                r = result;
+                if (r == null) {
+                    r = supplier.get();
+                    result = r;
+                    supplier = null;
+                }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Force on the given executor, eg to start work early that every path will read.
+     * @param executor executor to force on
+     * @return future of the memoized Try, or of a Failure if the executor rejects the task
+     */
+    public CompletableFuture<Try<T>> forceAsync(Executor executor) {
+        Objects.requireNonNull(executor);
+        Try<T> r = result;
+        if (r != null) {
+            return CompletableFuture.completedFuture(r);
+        }
+        CompletableFuture<Try<T>> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> future.complete(force()));
+        } catch (Throwable t) {
+            future.complete(Try.failure(t));
+        }
+        return future;
+    }
+
+    public boolean isEvaluated() {
+        return result != null;
+    }
+
+    /**
+     * Lazily transform the value.
+     * @param f function to apply to successful value.
+     * @param <U> new type (optional)
+     * @return a new LazyTry
+     */
+    public <U> LazyTry<U> map(TryMapFunction<? super T, ? extends U> f) {
+        Objects.requireNonNull(f);
+        return new LazyTry<>(() -> force().map(f));
+    }
+
+    /**
+     * Lazily transform the value into a new Try.
+     * @param f function to apply to successful value.
+     * @param <U> new type (optional)
+     * @return a new LazyTry
+     */
+    public <U> LazyTry<U> flatMap(TryMapFunction<? super T, Try<U>> f) {
+        Objects.requireNonNull(f);
+        return new LazyTry<>(() -> force().flatMap(f));
+    }
+
+    /**
+     * Forces and gets the value or throws the cause of the failure.
+     * @return T
+     * @throws Throwable
+     */
+    public T get() throws Throwable {
+        return force().get();
+    }
+
+    public T getUnchecked() {
+        return force().getUnchecked();
+    }
+
+    public T orElse(T value) {
+        return force().orElse(value);
+    }
+}
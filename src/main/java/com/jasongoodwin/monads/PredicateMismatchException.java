@@ -0,0 +1,13 @@
+package com.jasongoodwin.monads;
+
+/**
+ * Failure returned by filterNoTrace when the predicate doesn't match.
+ * There is one preallocated instance shared by the whole JVM, so it has no stack trace and no suppressed exceptions.
+ */
+public class PredicateMismatchException extends StacklessException {
+    private static final long serialVersionUID = 1L;
+
+    public PredicateMismatchException(String message) {
+        super(message, null, false);
+    }
+}
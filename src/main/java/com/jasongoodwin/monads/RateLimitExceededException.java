@@ -0,0 +1,13 @@
+package com.jasongoodwin.monads;
+
+/**
+ * Failure returned by TryRateLimiter when no permit is available.
+ * There is one preallocated, shared instance per limiter, so it has no stack trace and no suppressed exceptions.
+ */
+public class RateLimitExceededException extends StacklessException {
+    private static final long serialVersionUID = 1L;
+
+    public RateLimitExceededException(String message) {
+        super(message, null, false);
+    }
+}
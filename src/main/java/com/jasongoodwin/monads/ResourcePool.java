@@ -0,0 +1,22 @@
+package com.jasongoodwin.monads;
+
+/**
+ * Minimal pool interface for Try.withResources, to borrow and return a resource instead of opening and closing one.
+ * Adapt an existing pool (eg a connection pool) by implementing borrow and release.
+ *
+ * @param <R> resource type
+ */
+public interface ResourcePool<R> {
+
+    R borrow() throws Throwable;
+
+    void release(R resource) throws Throwable;
+
+    /**
+     * Called instead of release when the work using the resource failed, in case the resource is broken.
+     * Releases it by default.
+     */
+    default void invalidate(R resource) throws Throwable {
+        release(resource);
+    }
+}
@@ -0,0 +1,139 @@
+package com.jasongoodwin.monads;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Immutable retry policy for Try.retry and Futures.retry.
+ * Covers the maximum number of attempts, exponential backoff with jitter,
+ * a total deadline measured from the first attempt, and which failures can be retried.
+ *
+ * RetryPolicy.maxAttempts(5).withBackoff(Duration.ofMillis(10), Duration.ofSeconds(1)).withJitter(0.5)
+ *
+ * By default there is no delay, no jitter, no deadline and every failure is retried.
+ */
+public final class RetryPolicy {
+    private final int maxAttempts;
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+    private final double multiplier;
+    private final double jitter;
+    private final long deadlineNanos;
+    private final Predicate<? super Throwable> retryOn;
+
+    private RetryPolicy(int maxAttempts, long initialDelayNanos, long maxDelayNanos, double multiplier,
+                        double jitter, long deadlineNanos, Predicate<? super Throwable> retryOn) {
+        this.maxAttempts = maxAttempts;
+        this.initialDelayNanos = initialDelayNanos;
+        this.maxDelayNanos = maxDelayNanos;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.deadlineNanos = deadlineNanos;
+        this.retryOn = retryOn;
+    }
+
+    /**
+     * @param maxAttempts total number of attempts, including the first one
+     * @return a new RetryPolicy
+     */
+    public static RetryPolicy maxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        }
+        return new RetryPolicy(maxAttempts, 0, 0, 2.0, 0, 0, t -> true);
+    }
+
+    /**
+     * Exponential backoff doubling from initialDelay up to maxDelay.
+     */
+    public RetryPolicy withBackoff(Duration initialDelay, Duration maxDelay) {
+        return withBackoff(initialDelay, maxDelay, 2.0);
+    }
+
+    /**
+     * Exponential backoff from initialDelay up to maxDelay.
+     * @param initialDelay delay before the second attempt
+     * @param maxDelay cap on the delay
+     * @param multiplier factor applied to the delay after each attempt
+     * @return a new RetryPolicy
+     */
+    public RetryPolicy withBackoff(Duration initialDelay, Duration maxDelay, double multiplier) {
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("multiplier must be at least 1: " + multiplier);
+        }
+        return new RetryPolicy(maxAttempts, initialDelay.toNanos(), maxDelay.toNanos(), multiplier,
+                jitter, deadlineNanos, retryOn);
+    }
+
+    /**
+     * Randomly shorten each delay by up to the given fraction, so that callers failing together don't retry together.
+     * @param jitter fraction between 0 and 1
+     * @return a new RetryPolicy
+     */
+    public RetryPolicy withJitter(double jitter) {
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1: " + jitter);
+        }
+        return new RetryPolicy(maxAttempts, initialDelayNanos, maxDelayNanos, multiplier,
+                jitter, deadlineNanos, retryOn);
+    }
+
+    /**
+     * Stop retrying when the next attempt would start after the deadline, measured from the first attempt.
+     * @param deadline total time budget
+     * @return a new RetryPolicy
+     */
+    public RetryPolicy withDeadline(Duration deadline) {
+        return new RetryPolicy(maxAttempts, initialDelayNanos, maxDelayNanos, multiplier,
+                jitter, deadline.toNanos(), retryOn);
+    }
+
+    /**
+     * Only retry failures matching the predicate; others are returned straight away.
+     * @param retryOn predicate on the failure
+     * @return a new RetryPolicy
+     */
+    public RetryPolicy retryOn(Predicate<? super Throwable> retryOn) {
+        return new RetryPolicy(maxAttempts, initialDelayNanos, maxDelayNanos, multiplier,
+                jitter, deadlineNanos, Objects.requireNonNull(retryOn));
+    }
+
+    /**
+     * Delay before the next attempt, or -1 if there shouldn't be one.
+     * @param attempts attempts made so far
+     * @param failure failure of the last attempt
+     * @param startNanos System.nanoTime() of the first attempt
+     */
+    long nextDelayNanos(int attempts, Throwable failure, long startNanos) {
+        if (attempts >= maxAttempts || !retryOn.test(failure)) {
+            return -1;
+        }
+
+        long delay = initialDelayNanos;
+        for (int i = 1; i < attempts && delay < maxDelayNanos; i++) {
+            delay = (long) (delay * multiplier);
+        }
+        delay = Math.min(delay, maxDelayNanos);
+        if (jitter > 0 && delay > 0) {
+            delay -= (long) (delay * jitter * ThreadLocalRandom.current().nextDouble());
+        }
+
+        if (deadlineNanos > 0 && System.nanoTime() + delay - startNanos > deadlineNanos) {
+            return -1;
+        }
+        return delay;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy(maxAttempts=" + maxAttempts +
+                ", initialDelay=" + TimeUnit.NANOSECONDS.toMillis(initialDelayNanos) + "ms" +
+                ", maxDelay=" + TimeUnit.NANOSECONDS.toMillis(maxDelayNanos) + "ms" +
+                ", multiplier=" + multiplier +
+                ", jitter=" + jitter +
+                ", deadline=" + TimeUnit.NANOSECONDS.toMillis(deadlineNanos) + "ms)";
+    }
+}
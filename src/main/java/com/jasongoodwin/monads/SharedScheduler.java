@@ -0,0 +1,31 @@
+package com.jasongoodwin.monads;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One daemon timer thread shared by everything in the library that needs to wait,
+ * eg retry backoff, so no worker thread ever sleeps.
+ * Tasks run on the timer thread and must only hand work off to an executor or complete a future.
+ */
+final class SharedScheduler {
+    private static final ScheduledThreadPoolExecutor SCHEDULER = create();
+
+    private SharedScheduler() {
+    }
+
+    static ScheduledFuture<?> schedule(Runnable task, long delayNanos) {
+        return SCHEDULER.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static ScheduledThreadPoolExecutor create() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "better-monads-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+}
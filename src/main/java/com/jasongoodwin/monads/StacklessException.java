@@ -0,0 +1,29 @@
+package com.jasongoodwin.monads;
+
+/**
+ * A RuntimeException that does not capture a stack trace.
+ * Filling in the stack trace is by far the most expensive part of creating an exception,
+ * so this is meant for failures that are expected to happen often and where the trace carries no information,
+ * eg validation misses or rejected calls.
+ * Instances are cheap enough to create per failure but can also be preallocated and shared.
+ */
+public class StacklessException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public StacklessException(String message) {
+        super(message, null, true, false);
+    }
+
+    public StacklessException(String message, Throwable cause) {
+        super(message, cause, true, false);
+    }
+
+    /**
+     * For instances that are preallocated and shared, which should have suppression disabled
+     * so that nothing can be attached to them.
+     */
+    protected StacklessException(String message, Throwable cause, boolean enableSuppression) {
+        super(message, cause, enableSuppression, false);
+    }
+}
+
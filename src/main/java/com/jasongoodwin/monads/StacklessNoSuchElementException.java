@@ -0,0 +1,21 @@
+package com.jasongoodwin.monads;
+
+import java.util.NoSuchElementException;
+
+/**
+ * NoSuchElementException without a stack trace, used for keys missing from a TryBatcher bulk result.
+ * NoSuchElementException has no constructor to turn off the trace so fillInStackTrace is overridden instead.
+ * Instances are created per failure, never shared, as suppression can't be turned off either.
+ */
+class StacklessNoSuchElementException extends NoSuchElementException {
+    private static final long serialVersionUID = 1L;
+
+    StacklessNoSuchElementException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,20 @@
+package com.jasongoodwin.monads;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * TimeoutException without a stack trace, used for deadlines set by Futures.withTimeout and Try.ofFailable.
+ * Where the deadline fired says nothing useful, so the trace is not captured.
+ */
+public class StacklessTimeoutException extends TimeoutException {
+    private static final long serialVersionUID = 1L;
+
+    public StacklessTimeoutException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,156 @@
+package com.jasongoodwin.monads;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Successful Try holding a value.
+ * Success and Failure are the only implementations of Try and both are final,
+ * so a call site seeing both stays bimorphic and the JIT can inline through it.
+ *
+ * @param <T> type of the value
+ */
+public final class Success<T> extends Try<T> {
+    private final T value;
+
+    public Success(T value) {
+        this.value = value;
+    }
+
+    /**
+     * @return the value, eg after matching with instanceof
+     */
+    public T value() {
+        return value;
+    }
+
+    @Override
+    public <U> Try<U> flatMap(TryMapFunction<? super T, Try<U>> f) {
+        Objects.requireNonNull(f);
+        try {
+            return f.apply(value);
+        } catch (Throwable t) {
+            Instrumentation.failure(TryInstrumentation.Operation.FLAT_MAP, t);
+            return Try.failure(t);
+        }
+    }
+
+    @Override
+    public T recover(Function<? super Throwable, T> f) {
+        Objects.requireNonNull(f);
+        return value;
+    }
+
+    @Override
+    public Try<T> recoverWith(TryMapFunction<? super Throwable, Try<T>> f) {
+        Objects.requireNonNull(f);
+        return this;
+    }
+
+    @Override
+    public T orElse(T value) {
+        return this.value;
+    }
+
+    @Override
+    public Try<T> orElseTry(TrySupplier<T> f) {
+        Objects.requireNonNull(f);
+        return this;
+    }
+
+    @Override
+    public <X extends Throwable> T orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
+        return value;
+    }
+
+    @Override
+    public T get() throws Throwable {
+        return value;
+    }
+
+    @Override
+    public T getUnchecked() {
+        return value;
+    }
+
+    @Override
+    public T getOrRethrow() {
+        return value;
+    }
+
+    @Override
+    public Try<T> mapFailureContext(String key, Object value) {
+        Objects.requireNonNull(key);
+        return this;
+    }
+
+    @Override
+    public <U> Try<U> map(TryMapFunction<? super T, ? extends U> f) {
+        Objects.requireNonNull(f);
+        try {
+            return new Success<>(f.apply(value));
+        } catch (Throwable t) {
+            Instrumentation.failure(TryInstrumentation.Operation.MAP, t);
+            return Try.failure(t);
+        }
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return true;
+    }
+
+    @Override
+    public <E extends Throwable> Try<T> onSuccess(TryConsumer<T, E> action) throws E {
+      action.accept(value);
+      return this;
+    }
+
+    @Override
+    public Try<T> filter(Predicate<T> p) {
+        Objects.requireNonNull(p);
+
+        if (p.test(value)) {
+            return this;
+        } else {
+            return Try.failure(new NoSuchElementException("Predicate does not match for " + value));
+        }
+    }
+
+    @Override
+    public Try<T> filterNoTrace(Predicate<T> p) {
+        Objects.requireNonNull(p);
+
+        if (p.test(value)) {
+            return this;
+        } else {
+            return Failure.predicateMismatch();
+        }
+    }
+
+    @Override
+    public <R> R fold(Function<? super T, ? extends R> onSuccess, Function<? super Throwable, ? extends R> onFailure) {
+        Objects.requireNonNull(onFailure);
+        return onSuccess.apply(value);
+    }
+
+    @Override
+    public Optional<T> toOptional() {
+        return Optional.ofNullable(value);
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return Stream.of(value);
+    }
+
+    @Override
+    public <E extends Throwable> Try<T> onFailure(TryConsumer<Throwable, E> action) {
+      return this;
+    }
+}
@@ -0,0 +1,347 @@
+package com.jasongoodwin.monads;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bulk operations over collections of values and Trys.
+ * traverse and sequence are fail-fast: they stop at the first failure.
+ * partition evaluates everything and splits the results into successes and failures.
+ * The parallel variants split the input over a ForkJoinPool and are worth it for large inputs only.
+ */
+public class Tries {
+    private static final int MIN_CHUNK = 1024;
+
+    /**
+     * Apply f to every element, stopping at the first failure.
+     *
+     * @param values values to apply f to
+     * @param f      function to apply
+     * @param <T>    input type
+     * @param <U>    result type
+     * @return Success with the results in iteration order, or the first Failure
+     */
+    public static <T, U> Try<List<U>> traverse(Collection<T> values, TryMapFunction<? super T, ? extends U> f) {
+        Objects.requireNonNull(values);
+        Objects.requireNonNull(f);
+
+        List<U> results = new ArrayList<>(values.size());
+        for (T value : values) {
+            try {
+                results.add(f.apply(value));
+            } catch (Throwable t) {
+                return Try.failure(t);
+            }
+        }
+        return Try.successful(results);
+    }
+
+    /**
+     * Parallel traverse on the common ForkJoinPool.
+     * Once a failure is seen the remaining chunks stop early.
+     * The Failure returned is the one with the lowest index among those that were evaluated.
+     */
+    public static <T, U> Try<List<U>> traverseParallel(Collection<T> values, TryMapFunction<? super T, ? extends U> f) {
+        return traverseParallel(values, f, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parallel traverse on the given ForkJoinPool.
+     *
+     * @param values values to apply f to
+     * @param f      function to apply
+     * @param pool   pool to run on
+     * @param <T>    input type
+     * @param <U>    result type
+     * @return Success with a mutable ArrayList of the results in iteration order, or a Failure
+     */
+    public static <T, U> Try<List<U>> traverseParallel(Collection<T> values,
+                                                        TryMapFunction<? super T, ? extends U> f,
+                                                        ForkJoinPool pool) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(pool);
+
+        Apply<T, U> apply = new Apply<>(values.toArray(), f, true, pool.getParallelism());
+        pool.invoke(apply.root());
+
+        for (Throwable error : apply.errors) {
+            if (error != null) {
+                return Try.failure(error);
+            }
+        }
+        return Try.successful(apply.valuesAsList());
+    }
+
+    /**
+     * Turn a List of Trys into a Try of a List, stopping at the first failure.
+     *
+     * @param tries list of Trys
+     * @param <T>   type
+     * @return Success with all values, or the first Failure as is
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Try<List<T>> sequence(List<Try<T>> tries) {
+        Objects.requireNonNull(tries);
+
+        List<T> results = new ArrayList<>(tries.size());
+        for (Try<T> t : tries) {
+            if (t instanceof Success) {
+                results.add(((Success<T>) t).value());
+            } else if (t instanceof Failure) {
+                return (Try<List<T>>) (Try<?>) t;
+            } else {
+                try {
+                    results.add(t.get());
+                } catch (Throwable e) {
+                    return Try.failure(e);
+                }
+            }
+        }
+        return Try.successful(results);
+    }
+
+    /**
+     * Apply f to every element and split the results into successes and failures.
+     *
+     * @param values values to apply f to
+     * @param f      function to apply
+     * @param <T>    input type
+     * @param <U>    result type
+     * @return Partition of the results
+     */
+    public static <T, U> Partition<U> partition(Collection<T> values, TryMapFunction<? super T, ? extends U> f) {
+        Objects.requireNonNull(values);
+        Objects.requireNonNull(f);
+
+        Partition.Builder<U> builder = new Partition.Builder<>(values.size());
+        int i = 0;
+        for (T value : values) {
+            try {
+                builder.success(f.apply(value));
+            } catch (Throwable t) {
+                builder.failure(i, t);
+            }
+            i++;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Split a List of Trys into successes and failures.
+     *
+     * @param tries list of Trys
+     * @param <T>   type
+     * @return Partition of the Trys
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Partition<T> partition(List<Try<T>> tries) {
+        Objects.requireNonNull(tries);
+
+        Partition.Builder<T> builder = new Partition.Builder<>(tries.size());
+        int i = 0;
+        for (Try<T> t : tries) {
+            if (t instanceof Success) {
+                builder.success(((Success<T>) t).value());
+            } else if (t instanceof Failure) {
+                builder.failure(i, ((Failure<T>) t).cause());
+            } else {
+                try {
+                    builder.success(t.get());
+                } catch (Throwable e) {
+                    builder.failure(i, e);
+                }
+            }
+            i++;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Parallel partition on the common ForkJoinPool.
+     */
+    public static <T, U> Partition<U> partitionParallel(Collection<T> values, TryMapFunction<? super T, ? extends U> f) {
+        return partitionParallel(values, f, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parallel partition on the given ForkJoinPool.
+     *
+     * @param values values to apply f to
+     * @param f      function to apply
+     * @param pool   pool to run on
+     * @param <T>    input type
+     * @param <U>    result type
+     * @return Partition of the results, in iteration order
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, U> Partition<U> partitionParallel(Collection<T> values,
+                                                         TryMapFunction<? super T, ? extends U> f,
+                                                         ForkJoinPool pool) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(pool);
+
+        Apply<T, U> apply = new Apply<>(values.toArray(), f, false, pool.getParallelism());
+        pool.invoke(apply.root());
+
+        Partition.Builder<U> builder = new Partition.Builder<>(apply.values.length);
+        for (int i = 0; i < apply.values.length; i++) {
+            if (apply.errors[i] == null) {
+                builder.success((U) apply.values[i]);
+            } else {
+                builder.failure(i, apply.errors[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Successes and failures of a bulk evaluation.
+     * Both sides are backed by arrays trimmed to size, and failures keep the index of the input that failed.
+     *
+     * @param <T> type of the successful values
+     */
+    public static final class Partition<T> {
+        private final List<T> successes;
+        private final List<Throwable> failures;
+        private final int[] failureIndexes;
+
+        private Partition(List<T> successes, List<Throwable> failures, int[] failureIndexes) {
+            this.successes = successes;
+            this.failures = failures;
+            this.failureIndexes = failureIndexes;
+        }
+
+        /**
+         * @return successful values in input order
+         */
+        public List<T> successes() {
+            return successes;
+        }
+
+        /**
+         * @return failures in input order
+         */
+        public List<Throwable> failures() {
+            return failures;
+        }
+
+        /**
+         * @return for each failure, the index of the input that produced it
+         */
+        public int[] failureIndexes() {
+            return failureIndexes.clone();
+        }
+
+        static final class Builder<T> {
+            private final Object[] successes;
+            private int successCount;
+            private Throwable[] failures = new Throwable[8];
+            private int[] failureIndexes = new int[8];
+            private int failureCount;
+
+            Builder(int size) {
+                successes = new Object[size];
+            }
+
+            void success(T value) {
+                successes[successCount++] = value;
+            }
+
+            void failure(int index, Throwable t) {
+                if (failureCount == failures.length) {
+                    failures = Arrays.copyOf(failures, failureCount * 2);
+                    failureIndexes = Arrays.copyOf(failureIndexes, failureCount * 2);
+                }
+                failures[failureCount] = t;
+                failureIndexes[failureCount] = index;
+                failureCount++;
+            }
+
+            @SuppressWarnings("unchecked")
+            Partition<T> build() {
+                List<T> s = (List<T>) Collections.unmodifiableList(Arrays.asList(trim(successes, successCount)));
+                List<Throwable> f = Collections.unmodifiableList(Arrays.asList(trim(failures, failureCount)));
+                return new Partition<>(s, f, Arrays.copyOf(failureIndexes, failureCount));
+            }
+
+            private static <A> A[] trim(A[] array, int size) {
+                return array.length == size ? array : Arrays.copyOf(array, size);
+            }
+        }
+    }
+
+    /**
+     * Applies f over an array in ForkJoin chunks, writing each result or error into its own slot.
+     * In fail-fast mode the first error stops all chunks from taking further elements.
+     */
+    private static final class Apply<T, U> {
+        private final Object[] inputs;
+        private final TryMapFunction<? super T, ? extends U> f;
+        private final boolean failFast;
+        private final Object[] values;
+        private final Throwable[] errors;
+        private final int chunk;
+        private volatile boolean failed;
+
+        Apply(Object[] inputs, TryMapFunction<? super T, ? extends U> f, boolean failFast, int parallelism) {
+            this.inputs = inputs;
+            this.f = f;
+            this.failFast = failFast;
+            this.values = new Object[inputs.length];
+            this.errors = new Throwable[inputs.length];
+            this.chunk = Math.max(MIN_CHUNK, inputs.length / (parallelism * 4));
+        }
+
+        RecursiveAction root() {
+            return new Range(0, inputs.length);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<U> valuesAsList() {
+            return new ArrayList<>((List<U>) Arrays.asList(values));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void run(int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (failFast && failed) {
+                    return;
+                }
+                try {
+                    values[i] = f.apply((T) inputs[i]);
+                } catch (Throwable t) {
+                    errors[i] = t;
+                    failed = true;
+                }
+            }
+        }
+
+        private final class Range extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final int from;
+            private final int to;
+
+            Range(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from <= chunk) {
+                    run(from, to);
+                } else {
+                    int mid = (from + to) >>> 1;
+                    invokeAll(new Range(from, mid), new Range(mid, to));
+                }
+            }
+        }
+    }
+}
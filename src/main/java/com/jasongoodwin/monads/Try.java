@@ -1,11 +1,18 @@
 package com.jasongoodwin.monads;
 
-import java.util.NoSuchElementException;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Monadic Try type.
@@ -19,19 +26,168 @@ import java.util.function.Supplier;
 
 public abstract class Try<T> {
 
-    protected Try() {
+    /**
+     * Success and Failure are the only subclasses.
+     */
+    Try() {
     }
 
     public static <U> Try<U> ofFailable(TrySupplier<U> f) {
         Objects.requireNonNull(f);
 
         try {
-            return Try.successful(f.get());
+            U value = f.get();
+            Instrumentation.success(TryInstrumentation.Operation.OF_FAILABLE);
+            return Try.successful(value);
+        } catch (Throwable t) {
+            Instrumentation.failure(TryInstrumentation.Operation.OF_FAILABLE, t);
+            return Try.failure(t);
+        }
+    }
+
+    /**
+     * Runs the supplier on the default blocking executor (see Futures.blockingExecutor) and waits up to the timeout.
+     * If the supplier is still running at the deadline it is interrupted and the result is a Failure
+     * holding a StacklessTimeoutException.
+     *
+     * @param f supplier to run
+     * @param timeout time allowed
+     * @param <U> Type
+     * @return Success, Failure with what f threw, or Failure on timeout
+     */
+    public static <U> Try<U> ofFailable(TrySupplier<U> f, Duration timeout) {
+        return ofFailable(f, timeout, Futures.blockingExecutor());
+    }
+
+    /**
+     * Runs the supplier on the given executor and waits up to the timeout, interrupting it at the deadline.
+     *
+     * @param f supplier to run
+     * @param timeout time allowed
+     * @param executor executor to run on
+     * @param <U> Type
+     * @return Success, Failure with what f threw, or Failure on timeout
+     */
+    public static <U> Try<U> ofFailable(TrySupplier<U> f, Duration timeout, Executor executor) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(timeout);
+        Objects.requireNonNull(executor);
+
+        FutureTask<Try<U>> task = new FutureTask<>(() -> Try.ofFailable(f));
+        try {
+            executor.execute(task);
+            return task.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            return Try.failure(new StacklessTimeoutException("Timed out after " + timeout));
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            return Try.failure(e);
+        } catch (ExecutionException e) {
+            return Try.failure(e.getCause());
+        } catch (Throwable t) {
+            return Try.failure(t);
+        }
+    }
+
+    /**
+     * Opens the resource, applies f to it and closes it, whichever way f completes.
+     * If f fails and closing fails too, the close failure is added as a suppressed exception of f's failure.
+     * If only closing fails, the result is a Failure with the close failure.
+     *
+     * Try.withResources(() -&gt; new FileInputStream(file), in -&gt; in.read())
+     *
+     * @param resource supplier opening the resource
+     * @param f function using the resource
+     * @param <R> resource type
+     * @param <U> Type
+     * @return result of f, or the Failure of opening, f or closing
+     */
+    // close() may throw anything, InterruptedException included, and any of it becomes the Failure
+    @SuppressWarnings("try")
+    public static <R extends AutoCloseable, U> Try<U> withResources(TrySupplier<R> resource,
+                                                                     TryMapFunction<? super R, ? extends U> f) {
+        Objects.requireNonNull(resource);
+        Objects.requireNonNull(f);
+
+        try (R r = resource.get()) {
+            return Try.successful(f.apply(r));
         } catch (Throwable t) {
             return Try.failure(t);
         }
     }
 
+    /**
+     * Opens both resources in order, applies f to them and closes them in reverse order.
+     * If the second resource fails to open, the first is still closed.
+     *
+     * @param first supplier opening the first resource
+     * @param second supplier opening the second resource
+     * @param f function using both resources
+     * @param <R1> first resource type
+     * @param <R2> second resource type
+     * @param <U> Type
+     * @return result of f, or the Failure of opening, f or closing
+     */
+    // close() may throw anything, InterruptedException included, and any of it becomes the Failure
+    @SuppressWarnings("try")
+    public static <R1 extends AutoCloseable, R2 extends AutoCloseable, U> Try<U> withResources(
+            TrySupplier<R1> first,
+            TrySupplier<R2> second,
+            TryBiFunction<? super R1, ? super R2, ? extends U> f) {
+        Objects.requireNonNull(first);
+        Objects.requireNonNull(second);
+        Objects.requireNonNull(f);
+
+        try (R1 r1 = first.get(); R2 r2 = second.get()) {
+            return Try.successful(f.apply(r1, r2));
+        } catch (Throwable t) {
+            return Try.failure(t);
+        }
+    }
+
+    /**
+     * Borrows a resource from the pool, applies f to it and returns it to the pool rather than closing it.
+     * If f fails the resource is invalidated instead of released, and a failure to do so is added as suppressed.
+     *
+     * @param pool pool to borrow from
+     * @param f function using the resource
+     * @param <R> resource type
+     * @param <U> Type
+     * @return result of f, or the Failure of borrowing, f or releasing
+     */
+    public static <R, U> Try<U> withResources(ResourcePool<R> pool, TryMapFunction<? super R, ? extends U> f) {
+        Objects.requireNonNull(pool);
+        Objects.requireNonNull(f);
+
+        R r;
+        try {
+            r = pool.borrow();
+        } catch (Throwable t) {
+            return Try.failure(t);
+        }
+
+        U value;
+        try {
+            value = f.apply(r);
+        } catch (Throwable t) {
+            try {
+                pool.invalidate(r);
+            } catch (Throwable e) {
+                t.addSuppressed(e);
+            }
+            return Try.failure(t);
+        }
+
+        try {
+            pool.release(r);
+        } catch (Throwable t) {
+            return Try.failure(t);
+        }
+        return Try.successful(value);
+    }
+
     /**
      * Transform success or pass on failure.
      * Takes an optional type parameter of the new type.
@@ -124,6 +280,24 @@ public abstract class Try<T> {
      */
     public abstract T getUnchecked();
 
+    /**
+     * Gets the value T on Success, or throws the cause of the failure as it is when it's a RuntimeException or Error.
+     * Checked causes are wrapped in a StacklessException, since the cause already carries the trace.
+     * @return T
+     * @throws RuntimeException the cause, or the wrapped checked cause
+     */
+    public abstract T getOrRethrow();
+
+    /**
+     * Add context to a Failure, eg a request id or stage name, without wrapping the cause in a new exception.
+     * The context is kept next to the cause and read with Failure.context(). The cause is never changed; only the
+     * wrappers created by getUnchecked and getOrRethrow carry the context, as a suppressed FailureContextException.
+     * @param key context key, where a later value replaces an earlier one
+     * @param value context value
+     * @return this on Success, otherwise a Failure with the same cause and the entry added
+     */
+    public abstract Try<T> mapFailureContext(String key, Object value);
+
     public abstract boolean isSuccess();
 
     /**
@@ -150,6 +324,27 @@ public abstract class Try<T> {
      */
     public abstract Try<T> filter(Predicate<T> pred);
 
+    /**
+     * Like filter but on a predicate miss returns a shared, preallocated Failure
+     * holding a PredicateMismatchException without a stack trace, suppression or the value in its message.
+     * Use this where predicate misses are frequent and expected.
+     * @param pred predicate applied to the value held by Try
+     * @return For Success, the same success if predicate holds true, otherwise the shared Failure
+     */
+    public abstract Try<T> filterNoTrace(Predicate<T> pred);
+
+    /**
+     * Reduce the Try to a single value, applying onSuccess to the value or onFailure to the cause.
+     *
+     * Try.ofFailable(() -&gt; Integer.valueOf(s)).fold(x -&gt; "number " + x, e -&gt; "not a number")
+     *
+     * @param onSuccess function applied to the value on Success
+     * @param onFailure function applied to the throwable on Failure
+     * @param <R> result type
+     * @return the result of whichever function was applied
+     */
+    public abstract <R> R fold(Function<? super T, ? extends R> onSuccess, Function<? super Throwable, ? extends R> onFailure);
+
     /**
      * Try contents wrapped in Optional.
      * @return Optional of T, if Success, Empty if Failure or null value
@@ -157,212 +352,124 @@ public abstract class Try<T> {
     public abstract Optional<T> toOptional();
 
     /**
-     * Factory method for failure.
-     *
-     * @param e throwable to create the failed Try with
-     * @param <U> Type
-     * @return a new Failure
+     * Try contents as a Stream.
+     * @return Stream of the value (even if null) if Success, empty Stream if Failure
      */
-
-    public static <U> Try<U> failure(Throwable e) {
-        return new Failure<>(e);
-    }
+    public abstract Stream<T> stream();
 
     /**
-     * Factory method for success.
+     * Runs the supplier until it succeeds or the policy says to stop, sleeping on the calling thread between attempts.
+     * Use Futures.retry to back off without holding a thread.
      *
-     * @param x value to create the successful Try with
+     * @param f supplier to run
+     * @param policy retry policy
      * @param <U> Type
-     * @return a new Success
+     * @return the first Success, or the last Failure
      */
-    public static <U> Try<U> successful(U x) {
-        return new Success<>(x);
-    }
-}
-
-class Success<T> extends Try<T> {
-    private final T value;
-
-    public Success(T value) {
-        this.value = value;
-    }
-
-    @Override
-    public <U> Try<U> flatMap(TryMapFunction<? super T, Try<U>> f) {
+    public static <U> Try<U> retry(TrySupplier<U> f, RetryPolicy policy) {
         Objects.requireNonNull(f);
-        try {
-            return f.apply(value);
-        } catch (Throwable t) {
-            return Try.failure(t);
+        Objects.requireNonNull(policy);
+
+        long start = System.nanoTime();
+        for (int attempts = 1; ; attempts++) {
+            Try<U> t = Try.ofFailable(f);
+            if (t.isSuccess()) {
+                return t;
+            }
+            long delay = policy.nextDelayNanos(attempts, ((Failure<U>) t).cause(), start);
+            if (delay < 0) {
+                return t;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return t;
+            }
         }
     }
 
-    @Override
-    public T recover(Function<? super Throwable, T> f) {
-        Objects.requireNonNull(f);
-        return value;
-    }
-
-    @Override
-    public Try<T> recoverWith(TryMapFunction<? super Throwable, Try<T>> f) {
-        Objects.requireNonNull(f);
-        return this;
-    }
-
-    @Override
-    public T orElse(T value) {
-        return this.value;
+    /**
+     * Runs the supplier on the default blocking executor (virtual threads on Java 21+, see Futures.blockingExecutor).
+     * The returned future never completes exceptionally; failures are held as a Failure.
+     *
+     * @param f supplier to run
+     * @param <U> Type
+     * @return CompletableFuture of the Try
+     */
+    public static <U> CompletableFuture<Try<U>> async(TrySupplier<U> f) {
+        return async(f, Futures.blockingExecutor());
     }
 
-    @Override
-    public Try<T> orElseTry(TrySupplier<T> f) {
+    /**
+     * Runs the supplier on the given executor.
+     * The returned future never completes exceptionally; failures, including the executor rejecting the task,
+     * are held as a Failure.
+     *
+     * @param f supplier to run
+     * @param executor executor to run on
+     * @param <U> Type
+     * @return CompletableFuture of the Try
+     */
+    public static <U> CompletableFuture<Try<U>> async(TrySupplier<U> f, Executor executor) {
         Objects.requireNonNull(f);
-        return this;
-    }
-
-    @Override
-    public <X extends Throwable> T orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
-        return value;
-    }
-
-    @Override
-    public T get() throws Throwable {
-        return value;
-    }
-
-    @Override
-    public T getUnchecked() {
-        return value;
-    }
+        Objects.requireNonNull(executor);
 
-    @Override
-    public <U> Try<U> map(TryMapFunction<? super T, ? extends U> f) {
-        Objects.requireNonNull(f);
+        CompletableFuture<Try<U>> future = new CompletableFuture<>();
         try {
-            return new Success<>(f.apply(value));
+            executor.execute(() -> future.complete(Try.ofFailable(f)));
         } catch (Throwable t) {
-            return Try.failure(t);
+            future.complete(Try.failure(t));
         }
+        return future;
     }
 
-    @Override
-    public boolean isSuccess() {
-        return true;
-    }
-
-    @Override
-    public <E extends Throwable> Try<T> onSuccess(TryConsumer<T, E> action) throws E {
-      action.accept(value);
-      return this;
-    }
-
-    @Override
-    public Try<T> filter(Predicate<T> p) {
-        Objects.requireNonNull(p);
-
-        if (p.test(value)) {
-            return this;
-        } else {
-            return Try.failure(new NoSuchElementException("Predicate does not match for " + value));
-        }
-    }
-
-    @Override
-    public Optional<T> toOptional() {
-        return Optional.ofNullable(value);
-    }
-
-    @Override
-    public <E extends Throwable> Try<T> onFailure(TryConsumer<Throwable, E> action) {
-      return this;
-    }
-}
-
-
-class Failure<T> extends Try<T> {
-    private final Throwable e;
-
-    Failure(Throwable e) {
-        this.e = e;
-    }
-
-    @Override
-    public <U> Try<U> map(TryMapFunction<? super T, ? extends U> f) {
-        Objects.requireNonNull(f);
-        return Try.failure(e);
-    }
-
-    @Override
-    public <U> Try<U> flatMap(TryMapFunction<? super T, Try<U>> f) {
-        Objects.requireNonNull(f);
-        return Try.failure(e);
-    }
-
-    @Override
-    public T recover(Function<? super Throwable, T> f) {
-        Objects.requireNonNull(f);
-        return f.apply(e);
-    }
-
-    @Override
-    public Try<T> recoverWith(TryMapFunction<? super Throwable, Try<T>> f) {
-        Objects.requireNonNull(f);
-        try{
-            return f.apply(e);
-        }catch(Throwable t){
-            return Try.failure(t);
-        }
-    }
-
-    @Override
-    public T orElse(T value) {
-        return value;
-    }
-
-    @Override
-    public Try<T> orElseTry(TrySupplier<T> f) {
-        Objects.requireNonNull(f);
-        return Try.ofFailable(f);
-    }
-
-    @Override
-    public <X extends Throwable> T orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
-        throw exceptionSupplier.get();
-    }
-
-    @Override
-    public T get() throws Throwable {
-        throw e;
-    }
-
-    @Override
-    public T getUnchecked() {
-        throw new RuntimeException(e);
-    }
-
-    @Override
-    public boolean isSuccess() {
-        return false;
+    /**
+     * Starts a lazy pipeline over the supplier.
+     * Stages added to the pipeline are only recorded, and are run in one pass when a terminal operation is called.
+     *
+     * Try.lazy(() -&gt; "1").&lt;Integer&gt;map(Integer::valueOf).map(x -&gt; x + 1).orElse(0)
+     *
+     * @param f supplier for the initial value
+     * @param <U> Type
+     * @return a new TryPipeline
+     */
+    public static <U> TryPipeline<U> lazy(TrySupplier<U> f) {
+        return new TryPipeline<>(f);
     }
 
-    @Override
-    public <E extends Throwable> Try<T> onSuccess(TryConsumer<T, E> action) {
-      return this;
-    }
+    /**
+     * Factory method for failure.
+     *
+     * @param e throwable to create the failed Try with
+     * @param <U> Type
+     * @return a new Failure
+     */
 
-    @Override
-    public Try<T> filter(Predicate<T> pred) {
-        return this;
+    public static <U> Try<U> failure(Throwable e) {
+        return new Failure<>(e);
     }
 
-    @Override
-    public Optional<T> toOptional() {
-        return Optional.empty();
+    /**
+     * Factory method for a cheap failure.
+     * The failure holds a StacklessException so no stack trace is captured.
+     *
+     * @param message message of the StacklessException
+     * @param <U> Type
+     * @return a new Failure
+     */
+    public static <U> Try<U> failureNoTrace(String message) {
+        return new Failure<>(new StacklessException(message));
     }
 
-    @Override
-    public <E extends Throwable> Try<T> onFailure(TryConsumer<Throwable, E> action) throws E {
-      action.accept(e);
-      return this;
+    /**
+     * Factory method for success.
+     *
+     * @param x value to create the successful Try with
+     * @param <U> Type
+     * @return a new Success
+     */
+    public static <U> Try<U> successful(U x) {
+        return new Success<>(x);
     }
 }
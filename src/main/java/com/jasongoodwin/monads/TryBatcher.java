@@ -0,0 +1,147 @@
+package com.jasongoodwin.monads;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Gathers single-key loads into bulk calls.
+ *
+ * Keys requested within the window after the first key of a batch, or until the batch reaches maxBatchSize,
+ * are passed to the bulk loader together, and each caller's future completes with the value for its key.
+ * Keys the bulk result leaves out fail with a NoSuchElementException, and a failing bulk call fails every
+ * key in the batch. The same key requested twice in a batch is only loaded once.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class TryBatcher<K, V> {
+    private final TryMapFunction<List<K>, Map<K, V>> bulk;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Executor executor;
+    private Batch<K, V> current;
+
+    /**
+     * Run bulk calls on Futures.blockingExecutor().
+     * @param bulk loader for a batch of distinct keys
+     * @param maxBatchSize number of distinct keys that dispatches a batch straight away
+     * @param window how long a batch waits for more keys after its first
+     */
+    public TryBatcher(TryMapFunction<List<K>, Map<K, V>> bulk, int maxBatchSize, Duration window) {
+        this(bulk, maxBatchSize, window, Futures.blockingExecutor());
+    }
+
+    /**
+     * @param bulk loader for a batch of distinct keys
+     * @param maxBatchSize number of distinct keys that dispatches a batch straight away
+     * @param window how long a batch waits for more keys after its first
+     * @param executor executor to run bulk calls on
+     */
+    public TryBatcher(TryMapFunction<List<K>, Map<K, V>> bulk, int maxBatchSize, Duration window, Executor executor) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        this.bulk = Objects.requireNonNull(bulk);
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Add the key to the current batch.
+     * @param key key to load
+     * @return future of the key's value
+     */
+    public CompletableFuture<V> load(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        Batch<K, V> full = null;
+        synchronized (this) {
+            Batch<K, V> batch = current;
+            if (batch == null) {
+                batch = new Batch<>();
+                current = batch;
+                Batch<K, V> scheduled = batch;
+                batch.timer = SharedScheduler.schedule(() -> flush(scheduled), windowNanos);
+            }
+            batch.waiters.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+            if (batch.waiters.size() >= maxBatchSize) {
+                current = null;
+                full = batch;
+            }
+        }
+        if (full != null) {
+            full.timer.cancel(false);
+            dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * Dispatch the current batch without waiting for the rest of its window.
+     */
+    public void flush() {
+        Batch<K, V> batch;
+        synchronized (this) {
+            batch = current;
+            current = null;
+        }
+        if (batch != null) {
+            batch.timer.cancel(false);
+            dispatch(batch);
+        }
+    }
+
+    private void flush(Batch<K, V> batch) {
+        synchronized (this) {
+            if (current != batch) {
+                return;
+            }
+            current = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch<K, V> batch) {
+        try {
+            executor.execute(() -> run(batch));
+        } catch (Throwable t) {
+            batch.fail(t);
+        }
+    }
+
+    private void run(Batch<K, V> batch) {
+        Map<K, V> values;
+        try {
+            values = bulk.apply(new ArrayList<>(batch.waiters.keySet()));
+        } catch (Throwable t) {
+            batch.fail(t);
+            return;
+        }
+        for (Map.Entry<K, List<CompletableFuture<V>>> waiting : batch.waiters.entrySet()) {
+            K key = waiting.getKey();
+            V value = values == null ? null : values.get(key);
+            if (value != null || values != null && values.containsKey(key)) {
+                waiting.getValue().forEach(f -> f.complete(value));
+            } else {
+                Throwable missing = new StacklessNoSuchElementException("No value for key " + key);
+                waiting.getValue().forEach(f -> f.completeExceptionally(missing));
+            }
+        }
+    }
+
+    private static final class Batch<K, V> {
+        final Map<K, List<CompletableFuture<V>>> waiters = new LinkedHashMap<>();
+        ScheduledFuture<?> timer;
+
+        void fail(Throwable t) {
+            waiters.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(t)));
+        }
+    }
+}
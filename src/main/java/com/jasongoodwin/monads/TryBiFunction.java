@@ -0,0 +1,9 @@
+package com.jasongoodwin.monads;
+
+/**
+ * Two argument version of {@link TryMapFunction}, eg for Try.withResources over two resources.
+ */
+
+public interface TryBiFunction<T, U, R> {
+    R apply(T t, U u) throws Throwable;
+}
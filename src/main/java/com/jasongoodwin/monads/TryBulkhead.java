@@ -0,0 +1,179 @@
+package com.jasongoodwin.monads;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Limits the concurrent calls to one dependency, so a slow backend can only tie up maxConcurrent threads.
+ *
+ * Calls that find every permit taken return a preallocated Failure holding a BulkheadFullException instead of
+ * blocking. Async calls may wait in a queue of up to maxQueued instead, and start as permits are released.
+ */
+public class TryBulkhead {
+    private final Semaphore permits;
+    private final ArrayBlockingQueue<Waiter<?>> queue;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Try<?> rejected;
+    private final BulkheadFullException rejection;
+
+    /**
+     * @param maxConcurrent calls allowed at once
+     */
+    public TryBulkhead(int maxConcurrent) {
+        this(maxConcurrent, 0);
+    }
+
+    /**
+     * @param maxConcurrent calls allowed at once
+     * @param maxQueued async calls that may wait for a permit
+     */
+    public TryBulkhead(int maxConcurrent, int maxQueued) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be positive: " + maxConcurrent);
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("maxQueued must not be negative: " + maxQueued);
+        }
+        this.permits = new Semaphore(maxConcurrent);
+        this.queue = maxQueued == 0 ? null : new ArrayBlockingQueue<>(maxQueued);
+        this.rejection = new BulkheadFullException("Bulkhead is full");
+        this.rejected = Try.failure(rejection);
+    }
+
+    /**
+     * Run the supplier on the calling thread if a permit is free.
+     * @param f supplier to run
+     * @param <T> type
+     * @return the outcome of f, or the shared Failure when the bulkhead is full
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Try<T> call(TrySupplier<T> f) {
+        Objects.requireNonNull(f);
+        if (!permits.tryAcquire()) {
+            return (Try<T>) rejected;
+        }
+        try {
+            return Try.ofFailable(f);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * @param f function to limit
+     * @param <T> input type
+     * @param <R> result type
+     * @return function calling f through this bulkhead
+     */
+    public <T, R> Function<T, Try<R>> wrap(TryMapFunction<? super T, ? extends R> f) {
+        Objects.requireNonNull(f);
+        return t -> call(() -> f.apply(t));
+    }
+
+    /**
+     * Start an async call if a permit is free, or queue it. The permit is held until the call's future completes.
+     * @param f supplier starting the call
+     * @param <T> type
+     * @return the future of the call, or a future failed with the shared BulkheadFullException
+     *         when no permit is free and the queue is full
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<? extends CompletionStage<T>> f) {
+        Objects.requireNonNull(f);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (permits.tryAcquire()) {
+            new Waiter<>(f, future).start();
+        } else if (queue != null && queue.offer(new Waiter<>(f, future))) {
+            // every permit may have been released before the offer, so nobody else would drain it
+            drain();
+        } else {
+            future.completeExceptionally(rejection);
+        }
+        return future;
+    }
+
+    /**
+     * Run the supplier on the executor if a permit is free or the queue has room, see Futures.supplyTry.
+     * @param f supplier to run
+     * @param executor executor to run on
+     * @param <T> type
+     * @return the future of the call, or a future failed with the shared BulkheadFullException
+     */
+    public <T> CompletableFuture<T> supplyAsync(TrySupplier<T> f, Executor executor) {
+        Objects.requireNonNull(f);
+        return callAsync(() -> Futures.supplyTry(f, executor));
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void release() {
+        permits.release();
+        if (queue != null) {
+            drain();
+        }
+    }
+
+    /**
+     * Hand free permits to queued calls.
+     * The work-in-progress counter keeps this iterative when started calls complete, and release, synchronously.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (!queue.isEmpty() && permits.tryAcquire()) {
+                Waiter<?> waiter = queue.poll();
+                if (waiter == null) {
+                    permits.release();
+                    break;
+                }
+                waiter.start();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private final class Waiter<T> {
+        private final Supplier<? extends CompletionStage<T>> f;
+        private final CompletableFuture<T> future;
+
+        Waiter(Supplier<? extends CompletionStage<T>> f, CompletableFuture<T> future) {
+            this.f = f;
+            this.future = future;
+        }
+
+        void start() {
+            if (future.isDone()) {
+                // cancelled while queued
+                release();
+                return;
+            }
+            CompletionStage<T> stage;
+            try {
+                stage = f.get();
+            } catch (Throwable t) {
+                release();
+                future.completeExceptionally(t);
+                return;
+            }
+            stage.whenComplete((v, e) -> {
+                release();
+                if (e == null) {
+                    future.complete(v);
+                } else {
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+    }
+}
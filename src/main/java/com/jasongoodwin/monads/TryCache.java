@@ -0,0 +1,202 @@
+package com.jasongoodwin.monads;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Memoizing cache of Try results.
+ *
+ * Successes and failures are kept for their own TTL; a failure TTL of zero means failures aren't cached.
+ * Concurrent callers missing on the same key share one load: the first caller runs the loader and the others
+ * wait for (or, with getAsync, are handed) the same future.
+ * The cache is bounded to maximumSize entries, evicting the oldest loaded first.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class TryCache<K, V> {
+    private final long maximumSize;
+    private final long successTtlNanos;
+    private final long failureTtlNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<K, V>> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * @param maximumSize maximum number of entries
+     * @param successTtl how long a Success is kept
+     * @param failureTtl how long a Failure is kept, zero to not cache failures
+     */
+    public TryCache(long maximumSize, Duration successTtl, Duration failureTtl) {
+        this(maximumSize, successTtl, failureTtl, System::nanoTime);
+    }
+
+    TryCache(long maximumSize, Duration successTtl, Duration failureTtl, LongSupplier clock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.successTtlNanos = successTtl.toNanos();
+        this.failureTtlNanos = failureTtl.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Get the cached Try for the key, loading it on a miss.
+     * If another caller is already loading the key this waits for that load instead of starting another.
+     * @param key key
+     * @param loader function to load the value
+     * @return cached or loaded Try
+     */
+    public Try<V> get(K key, TryMapFunction<? super K, ? extends V> loader) {
+        Objects.requireNonNull(loader);
+        Entry<K, V> entry = entryFor(key);
+        if (entry.claimed()) {
+            complete(entry, Try.ofFailable(() -> loader.apply(key)));
+        }
+        return entry.future.join();
+    }
+
+    /**
+     * Get a future of the cached Try for the key, starting an async load on a miss.
+     * Concurrent callers for the same key get the same future. The future never completes exceptionally.
+     * @param key key
+     * @param loader function starting the async load
+     * @return future of the cached or loaded Try
+     */
+    public CompletableFuture<Try<V>> getAsync(K key, Function<? super K, ? extends CompletionStage<V>> loader) {
+        Objects.requireNonNull(loader);
+        Entry<K, V> entry = entryFor(key);
+        if (entry.claimed()) {
+            try {
+                loader.apply(key).whenComplete((v, e) ->
+                        complete(entry, e == null ? Try.successful(v) : Try.failure(unwrap(e))));
+            } catch (Throwable t) {
+                complete(entry, Try.failure(t));
+            }
+        }
+        return entry.future;
+    }
+
+    /**
+     * @param key key
+     * @return the cached Try if present, loaded and not expired
+     */
+    public Optional<Try<V>> getIfPresent(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null || !entry.future.isDone() || expired(entry)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.future.join());
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    private Entry<K, V> entryFor(K key) {
+        Objects.requireNonNull(key);
+        while (true) {
+            Entry<K, V> existing = entries.get(key);
+            if (existing != null && !expired(existing)) {
+                return existing;
+            }
+            Entry<K, V> created = new Entry<>(key);
+            boolean won = existing == null
+                    ? entries.putIfAbsent(key, created) == null
+                    : entries.replace(key, existing, created);
+            if (won) {
+                order.offer(created);
+                queued.incrementAndGet();
+                evict();
+                return created;
+            }
+        }
+    }
+
+    private void complete(Entry<K, V> entry, Try<V> t) {
+        long ttl = t.isSuccess() ? successTtlNanos : failureTtlNanos;
+        entry.expiresAt = clock.getAsLong() + ttl;
+        entry.future.complete(t);
+        if (ttl <= 0) {
+            entries.remove(entry.key, entry);
+        }
+    }
+
+    private boolean expired(Entry<K, V> entry) {
+        return entry.future.isDone() && clock.getAsLong() - entry.expiresAt >= 0;
+    }
+
+    /**
+     * Evicts in load order while over the maximum size. Replaced or invalidated entries stay in the queue,
+     * so when it grows well past the maximum size those stale nodes are purged, leaving live entries alone.
+     */
+    private void evict() {
+        while (entries.size() > maximumSize) {
+            Entry<K, V> oldest = order.poll();
+            if (oldest == null) {
+                return;
+            }
+            dequeued(oldest);
+            entries.remove(oldest.key, oldest);
+        }
+        if (queued.get() > 2 * maximumSize) {
+            for (Iterator<Entry<K, V>> it = order.iterator(); it.hasNext(); ) {
+                Entry<K, V> entry = it.next();
+                if (entries.get(entry.key) != entry && dequeued(entry)) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * A purge and a poll may race for the same node, so only the first counts it out of the queue.
+     */
+    private boolean dequeued(Entry<K, V> entry) {
+        if (entry.dequeued.compareAndSet(false, true)) {
+            queued.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final CompletableFuture<Try<V>> future = new CompletableFuture<>();
+        final AtomicBoolean claim = new AtomicBoolean();
+        final AtomicBoolean dequeued = new AtomicBoolean();
+        volatile long expiresAt;
+
+        Entry(K key) {
+            this.key = key;
+        }
+
+        /**
+         * @return true for the one caller that should run the load
+         */
+        boolean claimed() {
+            return !claim.get() && claim.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.jasongoodwin.monads;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for TrySupplier calls.
+ *
+ * Outcomes are counted in a lock-free sliding time window split into buckets.
+ * When at least minimumCalls have been seen in the window and the failure rate reaches the threshold the breaker opens,
+ * and calls return a preallocated Failure holding a CircuitBreakerOpenException without running the supplier.
+ * After openDuration one probe call is let through (half-open): success closes the breaker, failure opens it again.
+ * Only the probe's own outcome changes the state; calls admitted earlier that finish meanwhile are ignored.
+ * A probe that hasn't finished after another openDuration is given up on and the next call becomes the probe.
+ *
+ * Counting is approximate under contention when a bucket rolls over, which is fine for a failure rate.
+ */
+public class TryCircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+    private static final int BUCKETS = 10;
+    private static final Permit CALL = new Permit(0);
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long bucketNanos;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private final Try<?> rejected;
+    private final CircuitBreakerOpenException rejection;
+
+    // per bucket: epoch, successes, failures
+    private final AtomicLongArray window = new AtomicLongArray(BUCKETS * 3);
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicReference<Permit> probe = new AtomicReference<>();
+    private volatile long openedAt;
+
+    /**
+     * @param failureRateThreshold failure rate between 0 and 1 at which the breaker opens
+     * @param minimumCalls calls needed in the window before the failure rate is considered
+     * @param window length of the sliding window
+     * @param openDuration how long the breaker stays open before letting a probe through
+     */
+    public TryCircuitBreaker(double failureRateThreshold, int minimumCalls, Duration window, Duration openDuration) {
+        this(failureRateThreshold, minimumCalls, window, openDuration, System::nanoTime);
+    }
+
+    TryCircuitBreaker(double failureRateThreshold, int minimumCalls, Duration window, Duration openDuration,
+                      LongSupplier clock) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold must be in (0, 1]: " + failureRateThreshold);
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = Math.max(1, minimumCalls);
+        this.bucketNanos = Math.max(1, window.toNanos() / BUCKETS);
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+        this.rejection = new CircuitBreakerOpenException("Circuit breaker is open");
+        this.rejected = Try.failure(rejection);
+        for (int i = 0; i < BUCKETS; i++) {
+            this.window.set(i * 3, -1);
+        }
+    }
+
+    /**
+     * Run the supplier if the breaker allows it.
+     * @param f supplier to run
+     * @param <T> type
+     * @return the outcome of f, or the shared Failure when open
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Try<T> call(TrySupplier<T> f) {
+        Objects.requireNonNull(f);
+        Permit permit = tryAcquire();
+        if (permit == null) {
+            return (Try<T>) rejected;
+        }
+        Try<T> t = Try.ofFailable(f);
+        record(permit, t.isSuccess());
+        return t;
+    }
+
+    /**
+     * Start an async call if the breaker allows it, eg a call made with Futures.
+     * @param f supplier starting the call
+     * @param <T> type
+     * @return the future of the call, or a future failed with the shared CircuitBreakerOpenException when open
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<? extends CompletionStage<T>> f) {
+        Objects.requireNonNull(f);
+        Permit permit = tryAcquire();
+        if (permit == null) {
+            return rejectedFuture();
+        }
+        CompletableFuture<T> future;
+        try {
+            future = f.get().toCompletableFuture();
+        } catch (Throwable t) {
+            record(permit, false);
+            future = new CompletableFuture<>();
+            future.completeExceptionally(t);
+            return future;
+        }
+        return future.whenComplete((v, e) -> record(permit, e == null));
+    }
+
+    /**
+     * Run the supplier on the executor if the breaker allows it, see Futures.supplyTry.
+     * @param f supplier to run
+     * @param executor executor to run on
+     * @param <T> type
+     * @return the future of the call, or a future failed with the shared CircuitBreakerOpenException when open
+     */
+    public <T> CompletableFuture<T> supplyAsync(TrySupplier<T> f, Executor executor) {
+        Objects.requireNonNull(f);
+        return callAsync(() -> Futures.supplyTry(f, executor));
+    }
+
+    public State state() {
+        switch (state.get()) {
+            case OPEN:
+                return State.OPEN;
+            case HALF_OPEN:
+                return State.HALF_OPEN;
+            default:
+                return State.CLOSED;
+        }
+    }
+
+    private <T> CompletableFuture<T> rejectedFuture() {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(rejection);
+        return future;
+    }
+
+    /**
+     * @return CALL while closed, a new probe when this call is let through half-open, or null to reject
+     */
+    private Permit tryAcquire() {
+        int s = state.get();
+        if (s == CLOSED) {
+            return CALL;
+        }
+        long now = clock.getAsLong();
+        if (s == OPEN) {
+            // the thread moving the breaker from open to half-open runs the probe, everyone else is rejected
+            if (now - openedAt >= openNanos && state.compareAndSet(OPEN, HALF_OPEN)) {
+                Permit p = new Permit(now);
+                probe.set(p);
+                return p;
+            }
+            return null;
+        }
+        // half-open: replace a probe that never finished, so the breaker can't stay half-open for good
+        Permit current = probe.get();
+        if (current != null && now - current.startedAt >= openNanos) {
+            Permit p = new Permit(now);
+            if (probe.compareAndSet(current, p)) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    private void record(Permit permit, boolean success) {
+        if (permit != CALL) {
+            // a probe that was given up on no longer decides anything
+            if (probe.compareAndSet(permit, null)) {
+                if (success) {
+                    reset();
+                    state.set(CLOSED);
+                } else {
+                    open();
+                }
+            }
+            return;
+        }
+        if (state.get() != CLOSED) {
+            // admitted while closed but finished after the breaker opened
+            return;
+        }
+
+        long now = clock.getAsLong();
+        long epoch = now / bucketNanos;
+        int i = (int) (epoch % BUCKETS) * 3;
+        long seen = window.get(i);
+        if (seen < epoch && window.compareAndSet(i, seen, epoch)) {
+            window.set(i + 1, 0);
+            window.set(i + 2, 0);
+        }
+        window.incrementAndGet(success ? i + 1 : i + 2);
+
+        if (!success && tripped(epoch)) {
+            openedAt = now;
+            state.compareAndSet(CLOSED, OPEN);
+        }
+    }
+
+    private boolean tripped(long epoch) {
+        long successes = 0;
+        long failures = 0;
+        for (int i = 0; i < BUCKETS * 3; i += 3) {
+            long bucket = window.get(i);
+            if (bucket > epoch - BUCKETS && bucket <= epoch) {
+                successes += window.get(i + 1);
+                failures += window.get(i + 2);
+            }
+        }
+        long total = successes + failures;
+        return total >= minimumCalls && failures >= failureRateThreshold * total;
+    }
+
+    private void open() {
+        openedAt = clock.getAsLong();
+        state.set(OPEN);
+    }
+
+    private void reset() {
+        for (int i = 0; i < BUCKETS * 3; i += 3) {
+            window.set(i, -1);
+        }
+    }
+
+    /**
+     * Admission of one call. Probes are told apart by identity, so only the current probe can change the state.
+     */
+    private static final class Permit {
+        final long startedAt;
+
+        Permit(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.jasongoodwin.monads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * Collectors over streams of Trys, eg stream.map(x -&gt; Try.ofFailable(...)).collect(TryCollectors.partitioningTry()).
+ *
+ * Elements are accumulated into chains of array segments. Combining two partial results for a parallel stream
+ * links the chains instead of copying the elements; they are copied once, when the collector finishes.
+ */
+public class TryCollectors {
+
+    /**
+     * Collects into a Success of all values, or the first Failure in encounter order.
+     * Values after the first failure are dropped, as the whole result is a Failure.
+     * The first Failure is handed back as is, keeping its failure context.
+     * @param <T> type
+     * @return collector to a Try of a List
+     */
+    public static <T> Collector<Try<T>, ?, Try<List<T>>> toTryList() {
+        return Collector.<Try<T>, Acc<T>, Try<List<T>>>of(
+                () -> new Acc<>(false),
+                Acc::add,
+                Acc::combine,
+                Acc::toTryList);
+    }
+
+    /**
+     * Collects into successes and failures, keeping the encounter index of each failure.
+     * @param <T> type
+     * @return collector to a Tries.Partition
+     */
+    public static <T> Collector<Try<T>, ?, Tries.Partition<T>> partitioningTry() {
+        return Collector.<Try<T>, Acc<T>, Tries.Partition<T>>of(
+                () -> new Acc<>(true),
+                Acc::add,
+                Acc::combine,
+                Acc::toPartition);
+    }
+
+    /**
+     * Collects the values of the successes, dropping failures.
+     * @param <T> type
+     * @return collector to a List
+     */
+    public static <T> Collector<Try<T>, ?, List<T>> successesOnly() {
+        return Collector.<Try<T>, Acc<T>, List<T>>of(
+                () -> new Acc<>(false),
+                Acc::addSuccessOnly,
+                Acc::combine,
+                acc -> acc.successes.toList());
+    }
+
+    private static final class Acc<T> {
+        private final boolean partition;
+        private final Chain<T> successes = new Chain<>(false);
+        private final Chain<Throwable> failures = new Chain<>(true);
+        private Failure<?> firstFailure;
+        private int count;
+
+        Acc(boolean partition) {
+            this.partition = partition;
+        }
+
+        @SuppressWarnings("unchecked")
+        void add(Try<T> t) {
+            int index = count++;
+            if (!partition && firstFailure != null) {
+                return;
+            }
+            if (t instanceof Success) {
+                successes.add(((Success<T>) t).value(), index);
+                return;
+            }
+            Throwable cause = cause(t);
+            if (cause == null) {
+                successes.add(t.getUnchecked(), index);
+            } else if (partition) {
+                failures.add(cause, index);
+            } else {
+                firstFailure = t instanceof Failure ? (Failure<?>) t : new Failure<>(cause);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void addSuccessOnly(Try<T> t) {
+            if (t instanceof Success) {
+                successes.add(((Success<T>) t).value(), count);
+            } else if (!(t instanceof Failure) && t.isSuccess()) {
+                successes.add(t.getUnchecked(), count);
+            }
+            count++;
+        }
+
+        Acc<T> combine(Acc<T> right) {
+            if (!partition && firstFailure != null) {
+                count += right.count;
+                return this;
+            }
+            successes.append(right.successes, count);
+            failures.append(right.failures, count);
+            if (firstFailure == null) {
+                firstFailure = right.firstFailure;
+            }
+            count += right.count;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        Try<List<T>> toTryList() {
+            return firstFailure != null ? (Try<List<T>>) firstFailure : Try.successful(successes.toList());
+        }
+
+        @SuppressWarnings("unchecked")
+        Tries.Partition<T> toPartition() {
+            Tries.Partition.Builder<T> builder = new Tries.Partition.Builder<>(successes.size);
+            for (Chain.Node node = successes.head; node != null; node = node.next) {
+                for (int i = 0; i < node.count; i++) {
+                    builder.success((T) node.items[i]);
+                }
+            }
+            for (Chain.Node node = failures.head; node != null; node = node.next) {
+                for (int i = 0; i < node.count; i++) {
+                    builder.failure(node.indexes[i] + node.offset, (Throwable) node.items[i]);
+                }
+            }
+            return builder.build();
+        }
+
+        private static Throwable cause(Try<?> t) {
+            if (t instanceof Failure) {
+                return ((Failure<?>) t).cause();
+            }
+            try {
+                t.get();
+                return null;
+            } catch (Throwable e) {
+                return e;
+            }
+        }
+    }
+
+    /**
+     * Linked chain of array segments. Each node records the encounter index of its elements
+     * relative to an offset, so appending a chain from a later part of the stream only adjusts node offsets.
+     */
+    private static final class Chain<E> {
+        private final boolean indexed;
+        private Node head;
+        private Node tail;
+        private int size;
+
+        Chain(boolean indexed) {
+            this.indexed = indexed;
+        }
+
+        void add(E item, int index) {
+            if (tail == null || tail.count == tail.items.length) {
+                Node node = new Node(tail == null ? 16 : Math.min(tail.items.length * 2, 1 << 16), indexed);
+                if (tail == null) {
+                    head = node;
+                } else {
+                    tail.next = node;
+                }
+                tail = node;
+            }
+            tail.items[tail.count] = item;
+            if (indexed) {
+                tail.indexes[tail.count] = index;
+            }
+            tail.count++;
+            size++;
+        }
+
+        void append(Chain<E> other, int offset) {
+            if (other.head == null) {
+                return;
+            }
+            for (Node node = other.head; node != null; node = node.next) {
+                node.offset += offset;
+            }
+            if (tail == null) {
+                head = other.head;
+            } else {
+                tail.next = other.head;
+            }
+            tail = other.tail;
+            size += other.size;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<E> toList() {
+            List<E> list = new ArrayList<>(size);
+            for (Node node = head; node != null; node = node.next) {
+                for (int i = 0; i < node.count; i++) {
+                    list.add((E) node.items[i]);
+                }
+            }
+            return list;
+        }
+
+        static final class Node {
+            final Object[] items;
+            final int[] indexes;
+            int count;
+            int offset;
+            Node next;
+
+            Node(int capacity, boolean indexed) {
+                items = new Object[capacity];
+                indexes = indexed ? new int[capacity] : null;
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.jasongoodwin.monads;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.DoublePredicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * double specialization of {@link Try}.
+ * Holds a primitive double on success so numeric pipelines don't box the value.
+ * Use mapToObj or boxed to move over to a Try.
+ */
+
+public abstract class TryDouble {
+
+    TryDouble() {
+    }
+
+    public static TryDouble ofFailable(TryDoubleSupplier f) {
+        Objects.requireNonNull(f);
+
+        try {
+            return TryDouble.successful(f.get());
+        } catch (Throwable t) {
+            return TryDouble.failure(t);
+        }
+    }
+
+    /**
+     * Transform success or pass on failure.
+     *
+     * @param f function to apply to successful value.
+     * @return Success or Failure
+     */
+    public abstract TryDouble map(TryDoubleMapFunction f);
+
+    /**
+     * Transform success or pass on failure, taking a TryDouble as the result.
+     *
+     * @param f function to apply to successful value.
+     * @return new composed TryDouble
+     */
+    public abstract TryDouble flatMap(TryDoubleFunction<TryDouble> f);
+
+    /**
+     * Transform success into a Try of an object type or pass on failure.
+     *
+     * @param f   function to apply to successful value.
+     * @param <U> new type
+     * @return Success&lt;U&gt; or Failure&lt;U&gt;
+     */
+    public abstract <U> Try<U> mapToObj(TryDoubleFunction<? extends U> f);
+
+    /**
+     * Box the value into a Try&lt;Double&gt;.
+     *
+     * @return Success&lt;Double&gt; or Failure&lt;Double&gt;
+     */
+    public abstract Try<Double> boxed();
+
+    /**
+     * Specifies a result to use in case of failure.
+     *
+     * @param f function to execute on failure.
+     * @return the value or the recovered value
+     */
+    public abstract double recover(ToDoubleFunction<? super Throwable> f);
+
+    /**
+     * Return a value in the case of a failure.
+     *
+     * @param value value to return on failure.
+     * @return the value or the value specified
+     */
+    public abstract double orElse(double value);
+
+    /**
+     * Gets the value on Success or throws the cause of the failure.
+     *
+     * @return double
+     * @throws Throwable
+     */
+    public abstract double get() throws Throwable;
+
+    /**
+     * Gets the value on Success or throws the cause of the failure wrapped into a RuntimeException
+     * @return double
+     * @throws RuntimeException
+     */
+    public abstract double getUnchecked();
+
+    public abstract boolean isSuccess();
+
+    /**
+     * If successful and the predicate holds true, the Success is passed further.
+     * Otherwise (Failure or predicate doesn't hold), pass Failure.
+     * @param pred predicate applied to the value
+     * @return For Success, the same success if predicate holds true, otherwise Failure
+     */
+    public abstract TryDouble filter(DoublePredicate pred);
+
+    /**
+     * @return OptionalDouble of the value if Success, empty if Failure
+     */
+    public abstract OptionalDouble toOptional();
+
+    /**
+     * Factory method for failure.
+     *
+     * @param e throwable to create the failed TryDouble with
+     * @return a new Failure
+     */
+    public static TryDouble failure(Throwable e) {
+        return new DoubleFailure(e);
+    }
+
+    /**
+     * Factory method for success.
+     *
+     * @param x value to create the successful TryDouble with
+     * @return a new Success
+     */
+    public static TryDouble successful(double x) {
+        return new DoubleSuccess(x);
+    }
+}
+
+final class DoubleSuccess extends TryDouble {
+    private final double value;
+
+    DoubleSuccess(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public TryDouble map(TryDoubleMapFunction f) {
+        Objects.requireNonNull(f);
+        try {
+            return new DoubleSuccess(f.apply(value));
+        } catch (Throwable t) {
+            return TryDouble.failure(t);
+        }
+    }
+
+    @Override
+    public TryDouble flatMap(TryDoubleFunction<TryDouble> f) {
+        Objects.requireNonNull(f);
+        try {
+            return f.apply(value);
+        } catch (Throwable t) {
+            return TryDouble.failure(t);
+        }
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(TryDoubleFunction<? extends U> f) {
+        Objects.requireNonNull(f);
+        try {
+            return Try.successful(f.apply(value));
+        } catch (Throwable t) {
+            return Try.failure(t);
+        }
+    }
+
+    @Override
+    public Try<Double> boxed() {
+        return Try.successful(value);
+    }
+
+    @Override
+    public double recover(ToDoubleFunction<? super Throwable> f) {
+        Objects.requireNonNull(f);
+        return value;
+    }
+
+    @Override
+    public double orElse(double value) {
+        return this.value;
+    }
+
+    @Override
+    public double get() throws Throwable {
+        return value;
+    }
+
+    @Override
+    public double getUnchecked() {
+        return value;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return true;
+    }
+
+    @Override
+    public TryDouble filter(DoublePredicate p) {
+        Objects.requireNonNull(p);
+
+        if (p.test(value)) {
+            return this;
+        } else {
+            return TryDouble.failure(new NoSuchElementException("Predicate does not match for " + value));
+        }
+    }
+
+    @Override
+    public OptionalDouble toOptional() {
+        return OptionalDouble.of(value);
+    }
+}
+
+final class DoubleFailure extends TryDouble {
+    private final Throwable e;
+
+    DoubleFailure(Throwable e) {
+        this.e = e;
+    }
+
+    @Override
+    public TryDouble map(TryDoubleMapFunction f) {
+        Objects.requireNonNull(f);
+        return this;
+    }
+
+    @Override
+    public TryDouble flatMap(TryDoubleFunction<TryDouble> f) {
+        Objects.requireNonNull(f);
+        return this;
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(TryDoubleFunction<? extends U> f) {
+        Objects.requireNonNull(f);
+        return Try.failure(e);
+    }
+
+    @Override
+    public Try<Double> boxed() {
+        return Try.failure(e);
+    }
+
+    @Override
+    public double recover(ToDoubleFunction<? super Throwable> f) {
+        Objects.requireNonNull(f);
+        return f.applyAsDouble(e);
+    }
+
+    @Override
+    public double orElse(double value) {
+        return value;
+    }
+
+    @Override
+    public double get() throws Throwable {
+        throw e;
+    }
+
+    @Override
+    public double getUnchecked() {
+        throw new RuntimeException(e);
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return false;
+    }
+
+    @Override
+    public TryDouble filter(DoublePredicate pred) {
+        return this;
+    }
+
+    @Override
+    public OptionalDouble toOptional() {
+        return OptionalDouble.empty();
+    }
+}
@@ -0,0 +1,11 @@
+package com.jasongoodwin.monads;
+
+/**
+ * Function from a double to an object that can throw, used by {@link TryDouble#mapToObj} and {@link TryDouble#flatMap}.
+ *
+ * @param <R> result type
+ */
+
+public interface TryDoubleFunction<R> {
+    R apply(double t) throws Throwable;
+}
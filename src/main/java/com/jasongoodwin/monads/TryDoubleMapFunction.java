@@ -0,0 +1,9 @@
+package com.jasongoodwin.monads;
+
+/**
+ * double to double specialization of {@link TryMapFunction}, used by {@link TryDouble#map}.
+ */
+
+public interface TryDoubleMapFunction {
+    double apply(double t) throws Throwable;
+}
@@ -0,0 +1,10 @@
+package com.jasongoodwin.monads;
+
+/**
+ * double specialization of {@link TrySupplier}.
+ * It has a checked exception on it to allow it to be used in lambda expressions on {@link TryDouble}.
+ */
+
+public interface TryDoubleSupplier {
+    double get() throws Throwable;
+}
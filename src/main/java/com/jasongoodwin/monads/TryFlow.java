@@ -0,0 +1,375 @@
+package com.jasongoodwin.monads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Back-pressured streams of Trys, for records that are mapped one at a time instead of buffered as whole batches.
+ *
+ * The interfaces mirror java.util.concurrent.Flow (and Reactive Streams) method for method. Flow only exists from
+ * Java 9 and this library targets Java 8 without dependencies, so they are declared here; bridging to Flow is a
+ * delegating wrapper per interface.
+ */
+public final class TryFlow {
+
+    private TryFlow() {
+    }
+
+    public interface Publisher<T> {
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    public interface Subscriber<T> {
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    public interface Subscription {
+        void request(long n);
+
+        void cancel();
+    }
+
+    public interface Processor<T, R> extends Subscriber<T>, Publisher<R> {
+    }
+
+    /**
+     * Apply f to each element, terminating the stream with the cause of the first failure.
+     * Upstream is cancelled and downstream receives onError.
+     * @param f function to apply to each element
+     * @param <T> element type
+     * @param <R> mapped type
+     * @return processor to subscribe to a publisher
+     */
+    public static <T, R> Processor<T, R> mapOrTerminate(TryMapFunction<? super T, ? extends R> f) {
+        return new MapProcessor<>(Objects.requireNonNull(f), null, true);
+    }
+
+    /**
+     * Apply f to each element, silently dropping elements that fail.
+     * @param f function to apply to each element
+     * @param <T> element type
+     * @param <R> mapped type
+     * @return processor to subscribe to a publisher
+     */
+    public static <T, R> Processor<T, R> mapOrDrop(TryMapFunction<? super T, ? extends R> f) {
+        return new MapProcessor<>(Objects.requireNonNull(f), null, false);
+    }
+
+    /**
+     * Apply f to each element, handing the element and cause of each failure to a side channel,
+     * eg a dead letter topic, and carrying on with the rest.
+     * @param f function to apply to each element
+     * @param failures side channel, called on the upstream thread
+     * @param <T> element type
+     * @param <R> mapped type
+     * @return processor to subscribe to a publisher
+     */
+    public static <T, R> Processor<T, R> mapOrRoute(TryMapFunction<? super T, ? extends R> f,
+                                                    BiConsumer<? super T, Throwable> failures) {
+        return new MapProcessor<>(Objects.requireNonNull(f), Objects.requireNonNull(failures), false);
+    }
+
+    /**
+     * Publish each future's outcome as a Try, in completion order, as the subscriber requests them.
+     * This is a streaming alternative to Futures.sequence: nothing waits for the slowest future and a failure
+     * doesn't end the stream. Each subscriber gets every outcome.
+     * @param futures List of Futures
+     * @param <T> type
+     * @return publisher of Trys that completes after the last future
+     */
+    public static <T> Publisher<Try<T>> fromFutures(List<CompletableFuture<T>> futures) {
+        List<CompletableFuture<T>> copy = new ArrayList<>(futures);
+        return subscriber -> new FuturesSubscription<>(copy, subscriber).start();
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * Maps elements one to one, so downstream demand is passed straight upstream.
+     * Dropped or routed failures are replaced by requesting one more element.
+     */
+    private static final class MapProcessor<T, R> implements Processor<T, R>, Subscription {
+        private final TryMapFunction<? super T, ? extends R> f;
+        private final BiConsumer<? super T, Throwable> failures;
+        private final boolean terminate;
+
+        private Subscription upstream;
+        private Subscriber<? super R> downstream;
+        private long pendingDemand;
+        private boolean cancelled;
+        private boolean done;
+        private Throwable terminalError;
+        private boolean terminalComplete;
+
+        MapProcessor(TryMapFunction<? super T, ? extends R> f, BiConsumer<? super T, Throwable> failures,
+                     boolean terminate) {
+            this.f = f;
+            this.failures = failures;
+            this.terminate = terminate;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super R> subscriber) {
+            Objects.requireNonNull(subscriber);
+            boolean complete;
+            Throwable error;
+            synchronized (this) {
+                if (downstream != null) {
+                    subscriber.onSubscribe(NoopSubscription.INSTANCE);
+                    subscriber.onError(new IllegalStateException("Processor already has a subscriber"));
+                    return;
+                }
+                downstream = subscriber;
+                complete = terminalComplete;
+                error = terminalError;
+            }
+            subscriber.onSubscribe(this);
+            if (error != null) {
+                subscriber.onError(error);
+            } else if (complete) {
+                subscriber.onComplete();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            Objects.requireNonNull(subscription);
+            long demand;
+            synchronized (this) {
+                if (upstream != null || cancelled) {
+                    subscription.cancel();
+                    return;
+                }
+                upstream = subscription;
+                demand = pendingDemand;
+                pendingDemand = 0;
+            }
+            if (demand > 0) {
+                subscription.request(demand);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            R value;
+            try {
+                value = f.apply(item);
+            } catch (Throwable t) {
+                if (terminate) {
+                    done = true;
+                    upstream.cancel();
+                    downstream.onError(t);
+                    return;
+                }
+                if (failures != null) {
+                    failures.accept(item, t);
+                }
+                upstream.request(1);
+                return;
+            }
+            downstream.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            Subscriber<? super R> subscriber;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                terminalError = throwable;
+                subscriber = downstream;
+            }
+            if (subscriber != null) {
+                subscriber.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            Subscriber<? super R> subscriber;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                terminalComplete = true;
+                subscriber = downstream;
+            }
+            if (subscriber != null) {
+                subscriber.onComplete();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            Subscription subscription;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                if (n <= 0) {
+                    cancelled = true;
+                    done = true;
+                    subscription = upstream;
+                } else if (upstream == null) {
+                    pendingDemand = pendingDemand + n < 0 ? Long.MAX_VALUE : pendingDemand + n;
+                    return;
+                } else {
+                    subscription = upstream;
+                }
+            }
+            if (n <= 0) {
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+                downstream.onError(new IllegalArgumentException("Requested " + n + " elements, must be positive"));
+                return;
+            }
+            subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            Subscription subscription;
+            synchronized (this) {
+                cancelled = true;
+                subscription = upstream;
+            }
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    /**
+     * Queues outcomes as the futures complete and drains them against demand.
+     * The work-in-progress counter keeps signals serial whichever thread completes a future or requests more.
+     */
+    private static final class FuturesSubscription<T> implements Subscription {
+        private final List<CompletableFuture<T>> futures;
+        private final Subscriber<? super Try<T>> subscriber;
+        private final Queue<Try<T>> ready = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable badRequest;
+        private int emitted;
+
+        FuturesSubscription(List<CompletableFuture<T>> futures, Subscriber<? super Try<T>> subscriber) {
+            this.futures = futures;
+            this.subscriber = Objects.requireNonNull(subscriber);
+        }
+
+        void start() {
+            subscriber.onSubscribe(this);
+            if (futures.isEmpty()) {
+                if (!cancelled) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            for (CompletableFuture<T> future : futures) {
+                future.whenComplete((v, e) -> {
+                    if (!cancelled) {
+                        ready.offer(e == null ? Try.successful(v) : Try.failure(unwrap(e)));
+                        drain();
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                badRequest = new IllegalArgumentException("Requested " + n + " elements, must be positive");
+            } else {
+                long r;
+                do {
+                    r = requested.get();
+                } while (!requested.compareAndSet(r, r + n < 0 ? Long.MAX_VALUE : r + n));
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            if (wip.getAndIncrement() == 0) {
+                ready.clear();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    ready.clear();
+                    return;
+                }
+                Throwable error = badRequest;
+                if (error != null) {
+                    cancelled = true;
+                    ready.clear();
+                    subscriber.onError(error);
+                    return;
+                }
+                long r = requested.get();
+                long e = 0;
+                while (e != r && !cancelled) {
+                    Try<T> t = ready.poll();
+                    if (t == null) {
+                        break;
+                    }
+                    subscriber.onNext(t);
+                    e++;
+                    if (++emitted == futures.size()) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                }
+                if (e != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-e);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    private enum NoopSubscription implements Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.jasongoodwin.monads;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Asynchronous Try.
+ * Wraps a CompletableFuture&lt;Try&lt;T&gt;&gt; which never completes exceptionally
+ * and offers the Try combinators on it without blocking.
+ *
+ * Every combinator has an overload taking an Executor.
+ * Without one the stage runs inline on whichever thread completes the previous stage, so cheap stages don't hop threads.
+ * Anything a stage throws, including an executor rejecting it, ends up as a Failure.
+ *
+ * @param <T> type of the successful value
+ */
+public final class TryFuture<T> {
+    private final CompletableFuture<Try<T>> future;
+
+    private TryFuture(CompletableFuture<Try<T>> future) {
+        this.future = future;
+    }
+
+    /**
+     * Wrap a future of a Try. If the future completes exceptionally anyway, that becomes a Failure.
+     * @param future future of a Try
+     * @param <U> Type
+     * @return a new TryFuture
+     */
+    public static <U> TryFuture<U> of(CompletableFuture<Try<U>> future) {
+        Objects.requireNonNull(future);
+        return new TryFuture<>(future.handle((t, e) -> e == null ? t : Try.failure(unwrap(e))));
+    }
+
+    /**
+     * Convert a future of a value. Exceptional completion becomes a Failure holding the cause.
+     * @param future future of a value
+     * @param <U> Type
+     * @return a new TryFuture
+     */
+    public static <U> TryFuture<U> fromFuture(CompletableFuture<U> future) {
+        Objects.requireNonNull(future);
+        return new TryFuture<>(future.handle((v, e) -> e == null ? Try.successful(v) : Try.failure(unwrap(e))));
+    }
+
+    /**
+     * Run the supplier on the default blocking executor, see Try.async.
+     * @param f supplier to run
+     * @param <U> Type
+     * @return a new TryFuture
+     */
+    public static <U> TryFuture<U> supply(TrySupplier<U> f) {
+        return new TryFuture<>(Try.async(f));
+    }
+
+    /**
+     * Run the supplier on the given executor.
+     * @param f supplier to run
+     * @param executor executor to run on
+     * @param <U> Type
+     * @return a new TryFuture
+     */
+    public static <U> TryFuture<U> supply(TrySupplier<U> f, Executor executor) {
+        return new TryFuture<>(Try.async(f, executor));
+    }
+
+    /**
+     * A TryFuture that is already complete.
+     * @param t the Try
+     * @param <U> Type
+     * @return a new TryFuture
+     */
+    public static <U> TryFuture<U> completed(Try<U> t) {
+        return new TryFuture<>(CompletableFuture.completedFuture(Objects.requireNonNull(t)));
+    }
+
+    public static <U> TryFuture<U> successful(U x) {
+        return completed(Try.successful(x));
+    }
+
+    public static <U> TryFuture<U> failure(Throwable e) {
+        return completed(Try.failure(e));
+    }
+
+    /**
+     * Transform success or pass on failure.
+     * @param f function to apply to successful value.
+     * @param <U> new type (optional)
+     * @return new composed TryFuture
+     */
+    public <U> TryFuture<U> map(TryMapFunction<? super T, ? extends U> f) {
+        return map(f, null);
+    }
+
+    public <U> TryFuture<U> map(TryMapFunction<? super T, ? extends U> f, Executor executor) {
+        Objects.requireNonNull(f);
+        return then(t -> t.map(f), executor);
+    }
+
+    /**
+     * Transform success into a new TryFuture or pass on failure.
+     * @param f function to apply to successful value.
+     * @param <U> new type (optional)
+     * @return new composed TryFuture
+     */
+    public <U> TryFuture<U> flatMap(TryMapFunction<? super T, TryFuture<U>> f) {
+        return flatMap(f, null);
+    }
+
+    public <U> TryFuture<U> flatMap(TryMapFunction<? super T, TryFuture<U>> f, Executor executor) {
+        Objects.requireNonNull(f);
+        return compose(t -> t.isSuccess() ? f.apply(t.get()) : completed(castFailure(t)), executor);
+    }
+
+    /**
+     * Turn a failure into a successful value.
+     * @param f function that takes the throwable and returns a result
+     * @return new composed TryFuture
+     */
+    public TryFuture<T> recover(Function<? super Throwable, T> f) {
+        return recover(f, null);
+    }
+
+    public TryFuture<T> recover(Function<? super Throwable, T> f, Executor executor) {
+        Objects.requireNonNull(f);
+        return then(t -> t.isSuccess() ? t : Try.successful(t.recover(f)), executor);
+    }
+
+    /**
+     * Replace a failure with a new TryFuture.
+     * @param f function that takes the throwable and returns a TryFuture
+     * @return new composed TryFuture
+     */
+    public TryFuture<T> recoverWith(TryMapFunction<? super Throwable, TryFuture<T>> f) {
+        return recoverWith(f, null);
+    }
+
+    public TryFuture<T> recoverWith(TryMapFunction<? super Throwable, TryFuture<T>> f, Executor executor) {
+        Objects.requireNonNull(f);
+        return compose(t -> t.isSuccess() ? completed(t) : f.apply(cause(t)), executor);
+    }
+
+    /**
+     * Pass on the success if the predicate holds, otherwise fail with a NoSuchElementException like Try.filter.
+     * @param pred predicate applied to the value
+     * @return new composed TryFuture
+     */
+    public TryFuture<T> filter(Predicate<T> pred) {
+        return filter(pred, null);
+    }
+
+    public TryFuture<T> filter(Predicate<T> pred, Executor executor) {
+        Objects.requireNonNull(pred);
+        return then(t -> t.filter(pred), executor);
+    }
+
+    /**
+     * Performs the action when successful. If the action throws, the result is a Failure with what it threw.
+     * @param action action to run
+     * @return new composed TryFuture
+     */
+    public <E extends Throwable> TryFuture<T> onSuccess(TryConsumer<T, E> action) {
+        return onSuccess(action, null);
+    }
+
+    public <E extends Throwable> TryFuture<T> onSuccess(TryConsumer<T, E> action, Executor executor) {
+        Objects.requireNonNull(action);
+        return then(t -> t.onSuccess(action), executor);
+    }
+
+    /**
+     * Performs the action when failed. If the action throws, the result is a Failure with what it threw.
+     * @param action action to run
+     * @return new composed TryFuture
+     */
+    public <E extends Throwable> TryFuture<T> onFailure(TryConsumer<Throwable, E> action) {
+        return onFailure(action, null);
+    }
+
+    public <E extends Throwable> TryFuture<T> onFailure(TryConsumer<Throwable, E> action, Executor executor) {
+        Objects.requireNonNull(action);
+        return then(t -> t.onFailure(action), executor);
+    }
+
+    /**
+     * @return the underlying future, which never completes exceptionally
+     */
+    public CompletableFuture<Try<T>> toCompletableFuture() {
+        return future;
+    }
+
+    /**
+     * @return a future of the value which completes exceptionally with the cause on Failure
+     */
+    public CompletableFuture<T> unwrap() {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.thenAccept(t -> {
+            if (t.isSuccess()) {
+                result.complete(t.getUnchecked());
+            } else {
+                result.completeExceptionally(cause(t));
+            }
+        });
+        return result;
+    }
+
+    private <U> TryFuture<U> then(TryMapFunction<Try<T>, Try<U>> step, Executor executor) {
+        BiFunction<Try<T>, Throwable, Try<U>> safe = (t, e) -> {
+            if (e != null) {
+                return Try.failure(unwrap(e));
+            }
+            try {
+                return step.apply(t);
+            } catch (Throwable x) {
+                return Try.failure(x);
+            }
+        };
+        return new TryFuture<>(executor == null ? future.handle(safe) : recoverRejection(future.handleAsync(safe, executor)));
+    }
+
+    private <U> TryFuture<U> compose(TryMapFunction<Try<T>, TryFuture<U>> step, Executor executor) {
+        BiFunction<Try<T>, Throwable, CompletableFuture<Try<U>>> safe = (t, e) -> {
+            if (e != null) {
+                return CompletableFuture.completedFuture(Try.failure(unwrap(e)));
+            }
+            try {
+                return step.apply(t).future;
+            } catch (Throwable x) {
+                return CompletableFuture.completedFuture(Try.failure(x));
+            }
+        };
+        CompletableFuture<CompletableFuture<Try<U>>> next =
+                executor == null ? future.handle(safe) : future.handleAsync(safe, executor);
+        return new TryFuture<>(recoverRejection(next.thenCompose(Function.identity())));
+    }
+
+    private static <U> CompletableFuture<Try<U>> recoverRejection(CompletableFuture<Try<U>> future) {
+        return future.handle((t, e) -> e == null ? t : Try.failure(unwrap(e)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <U> Try<U> castFailure(Try<?> failure) {
+        return (Try<U>) failure;
+    }
+
+    private static Throwable cause(Try<?> t) {
+        if (t instanceof Failure) {
+            return ((Failure<?>) t).cause();
+        }
+        try {
+            t.get();
+        } catch (Throwable e) {
+            return e;
+        }
+        throw new IllegalStateException("Not a failure");
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        if ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            return e.getCause();
+        }
+        return e;
+    }
+}
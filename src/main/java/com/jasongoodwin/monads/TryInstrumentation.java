@@ -0,0 +1,37 @@
+package com.jasongoodwin.monads;
+
+/**
+ * Hooks called on Try outcomes and Futures stage completion, see {@link Instrumentation}.
+ * All methods default to doing nothing so implementations only override what they need.
+ * Hooks run inline on the hot path: they must be cheap and must not throw.
+ */
+public interface TryInstrumentation {
+
+    enum Operation {
+        OF_FAILABLE, MAP, FLAT_MAP
+    }
+
+    /**
+     * An operation produced a value.
+     */
+    default void success(Operation operation) {
+    }
+
+    /**
+     * An operation caught a throwable and produced a Failure.
+     */
+    default void failure(Operation operation, Throwable t) {
+    }
+
+    /**
+     * recover or recoverWith was invoked on a Failure.
+     */
+    default void recovered(Throwable t) {
+    }
+
+    /**
+     * A timed future completed, nanos after it was started.
+     */
+    default void latency(String stage, long nanos) {
+    }
+}
@@ -0,0 +1,279 @@
+package com.jasongoodwin.monads;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.function.IntPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * int specialization of {@link Try}.
+ * Holds a primitive int on success so numeric pipelines don't box the value.
+ * Use mapToObj or boxed to move over to a Try.
+ */
+
+public abstract class TryInt {
+
+    TryInt() {
+    }
+
+    public static TryInt ofFailable(TryIntSupplier f) {
+        Objects.requireNonNull(f);
+
+        try {
+            return TryInt.successful(f.get());
+        } catch (Throwable t) {
+            return TryInt.failure(t);
+        }
+    }
+
+    /**
+     * Transform success or pass on failure.
+     *
+     * @param f function to apply to successful value.
+     * @return Success or Failure
+     */
+    public abstract TryInt map(TryIntMapFunction f);
+
+    /**
+     * Transform success or pass on failure, taking a TryInt as the result.
+     *
+     * @param f function to apply to successful value.
+     * @return new composed TryInt
+     */
+    public abstract TryInt flatMap(TryIntFunction<TryInt> f);
+
+    /**
+     * Transform success into a Try of an object type or pass on failure.
+     *
+     * @param f   function to apply to successful value.
+     * @param <U> new type
+     * @return Success&lt;U&gt; or Failure&lt;U&gt;
+     */
+    public abstract <U> Try<U> mapToObj(TryIntFunction<? extends U> f);
+
+    /**
+     * Box the value into a Try&lt;Integer&gt;.
+     *
+     * @return Success&lt;Integer&gt; or Failure&lt;Integer&gt;
+     */
+    public abstract Try<Integer> boxed();
+
+    /**
+     * Specifies a result to use in case of failure.
+     *
+     * @param f function to execute on failure.
+     * @return the value or the recovered value
+     */
+    public abstract int recover(ToIntFunction<? super Throwable> f);
+
+    /**
+     * Return a value in the case of a failure.
+     *
+     * @param value value to return on failure.
+     * @return the value or the value specified
+     */
+    public abstract int orElse(int value);
+
+    /**
+     * Gets the value on Success or throws the cause of the failure.
+     *
+     * @return int
+     * @throws Throwable
+     */
+    public abstract int get() throws Throwable;
+
+    /**
+     * Gets the value on Success or throws the cause of the failure wrapped into a RuntimeException
+     * @return int
+     * @throws RuntimeException
+     */
+    public abstract int getUnchecked();
+
+    public abstract boolean isSuccess();
+
+    /**
+     * If successful and the predicate holds true, the Success is passed further.
+     * Otherwise (Failure or predicate doesn't hold), pass Failure.
+     * @param pred predicate applied to the value
+     * @return For Success, the same success if predicate holds true, otherwise Failure
+     */
+    public abstract TryInt filter(IntPredicate pred);
+
+    /**
+     * @return OptionalInt of the value if Success, empty if Failure
+     */
+    public abstract OptionalInt toOptional();
+
+    /**
+     * Factory method for failure.
+     *
+     * @param e throwable to create the failed TryInt with
+     * @return a new Failure
+     */
+    public static TryInt failure(Throwable e) {
+        return new IntFailure(e);
+    }
+
+    /**
+     * Factory method for success.
+     *
+     * @param x value to create the successful TryInt with
+     * @return a new Success
+     */
+    public static TryInt successful(int x) {
+        return new IntSuccess(x);
+    }
+}
+
+final class IntSuccess extends TryInt {
+    private final int value;
+
+    IntSuccess(int value) {
+        this.value = value;
+    }
+
+    @Override
+    public TryInt map(TryIntMapFunction f) {
+        Objects.requireNonNull(f);
+        try {
+            return new IntSuccess(f.apply(value));
+        } catch (Throwable t) {
+            return TryInt.failure(t);
+        }
+    }
+
+    @Override
+    public TryInt flatMap(TryIntFunction<TryInt> f) {
+        Objects.requireNonNull(f);
+        try {
+            return f.apply(value);
+        } catch (Throwable t) {
+            return TryInt.failure(t);
+        }
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(TryIntFunction<? extends U> f) {
+        Objects.requireNonNull(f);
+        try {
+            return Try.successful(f.apply(value));
+        } catch (Throwable t) {
+            return Try.failure(t);
+        }
+    }
+
+    @Override
+    public Try<Integer> boxed() {
+        return Try.successful(value);
+    }
+
+    @Override
+    public int recover(ToIntFunction<? super Throwable> f) {
+        Objects.requireNonNull(f);
+        return value;
+    }
+
+    @Override
+    public int orElse(int value) {
+        return this.value;
+    }
+
+    @Override
+    public int get() throws Throwable {
+        return value;
+    }
+
+    @Override
+    public int getUnchecked() {
+        return value;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return true;
+    }
+
+    @Override
+    public TryInt filter(IntPredicate p) {
+        Objects.requireNonNull(p);
+
+        if (p.test(value)) {
+            return this;
+        } else {
+            return TryInt.failure(new NoSuchElementException("Predicate does not match for " + value));
+        }
+    }
+
+    @Override
+    public OptionalInt toOptional() {
+        return OptionalInt.of(value);
+    }
+}
+
+final class IntFailure extends TryInt {
+    private final Throwable e;
+
+    IntFailure(Throwable e) {
+        this.e = e;
+    }
+
+    @Override
+    public TryInt map(TryIntMapFunction f) {
+        Objects.requireNonNull(f);
+        return this;
+    }
+
+    @Override
+    public TryInt flatMap(TryIntFunction<TryInt> f) {
+        Objects.requireNonNull(f);
+        return this;
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(TryIntFunction<? extends U> f) {
+        Objects.requireNonNull(f);
+        return Try.failure(e);
+    }
+
+    @Override
+    public Try<Integer> boxed() {
+        return Try.failure(e);
+    }
+
+    @Override
+    public int recover(ToIntFunction<? super Throwable> f) {
+        Objects.requireNonNull(f);
+        return f.applyAsInt(e);
+    }
+
+    @Override
+    public int orElse(int value) {
+        return value;
+    }
+
+    @Override
+    public int get() throws Throwable {
+        throw e;
+    }
+
+    @Override
+    public int getUnchecked() {
+        throw new RuntimeException(e);
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return false;
+    }
+
+    @Override
+    public TryInt filter(IntPredicate pred) {
+        return this;
+    }
+
+    @Override
+    public OptionalInt toOptional() {
+        return OptionalInt.empty();
+    }
+}
@@ -0,0 +1,11 @@
+package com.jasongoodwin.monads;
+
+/**
+ * Function from an int to an object that can throw, used by {@link TryInt#mapToObj} and {@link TryInt#flatMap}.
+ *
+ * @param <R> result type
+ */
+
+public interface TryIntFunction<R> {
+    R apply(int t) throws Throwable;
+}
@@ -0,0 +1,9 @@
+package com.jasongoodwin.monads;
+
+/**
+ * int to int specialization of {@link TryMapFunction}, used by {@link TryInt#map}.
+ */
+
+public interface TryIntMapFunction {
+    int apply(int t) throws Throwable;
+}
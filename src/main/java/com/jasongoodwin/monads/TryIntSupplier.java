@@ -0,0 +1,10 @@
+package com.jasongoodwin.monads;
+
+/**
+ * int specialization of {@link TrySupplier}.
+ * It has a checked exception on it to allow it to be used in lambda expressions on {@link TryInt}.
+ */
+
+public interface TryIntSupplier {
+    int get() throws Throwable;
+}
@@ -0,0 +1,279 @@
+package com.jasongoodwin.monads;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.function.LongPredicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * long specialization of {@link Try}.
+ * Holds a primitive long on success so numeric pipelines don't box the value.
+ * Use mapToObj or boxed to move over to a Try.
+ */
+
+public abstract class TryLong {
+
+    TryLong() {
+    }
+
+    public static TryLong ofFailable(TryLongSupplier f) {
+        Objects.requireNonNull(f);
+
+        try {
+            return TryLong.successful(f.get());
+        } catch (Throwable t) {
+            return TryLong.failure(t);
+        }
+    }
+
+    /**
+     * Transform success or pass on failure.
+     *
+     * @param f function to apply to successful value.
+     * @return Success or Failure
+     */
+    public abstract TryLong map(TryLongMapFunction f);
+
+    /**
+     * Transform success or pass on failure, taking a TryLong as the result.
+     *
+     * @param f function to apply to successful value.
+     * @return new composed TryLong
+     */
+    public abstract TryLong flatMap(TryLongFunction<TryLong> f);
+
+    /**
+     * Transform success into a Try of an object type or pass on failure.
+     *
+     * @param f   function to apply to successful value.
+     * @param <U> new type
+     * @return Success&lt;U&gt; or Failure&lt;U&gt;
+     */
+    public abstract <U> Try<U> mapToObj(TryLongFunction<? extends U> f);
+
+    /**
+     * Box the value into a Try&lt;Long&gt;.
+     *
+     * @return Success&lt;Long&gt; or Failure&lt;Long&gt;
+     */
+    public abstract Try<Long> boxed();
+
+    /**
+     * Specifies a result to use in case of failure.
+     *
+     * @param f function to execute on failure.
+     * @return the value or the recovered value
+     */
+    public abstract long recover(ToLongFunction<? super Throwable> f);
+
+    /**
+     * Return a value in the case of a failure.
+     *
+     * @param value value to return on failure.
+     * @return the value or the value specified
+     */
+    public abstract long orElse(long value);
+
+    /**
+     * Gets the value on Success or throws the cause of the failure.
+     *
+     * @return long
+     * @throws Throwable
+     */
+    public abstract long get() throws Throwable;
+
+    /**
+     * Gets the value on Success or throws the cause of the failure wrapped into a RuntimeException
+     * @return long
+     * @throws RuntimeException
+     */
+    public abstract long getUnchecked();
+
+    public abstract boolean isSuccess();
+
+    /**
+     * If successful and the predicate holds true, the Success is passed further.
+     * Otherwise (Failure or predicate doesn't hold), pass Failure.
+     * @param pred predicate applied to the value
+     * @return For Success, the same success if predicate holds true, otherwise Failure
+     */
+    public abstract TryLong filter(LongPredicate pred);
+
+    /**
+     * @return OptionalLong of the value if Success, empty if Failure
+     */
+    public abstract OptionalLong toOptional();
+
+    /**
+     * Factory method for failure.
+     *
+     * @param e throwable to create the failed TryLong with
+     * @return a new Failure
+     */
+    public static TryLong failure(Throwable e) {
+        return new LongFailure(e);
+    }
+
+    /**
+     * Factory method for success.
+     *
+     * @param x value to create the successful TryLong with
+     * @return a new Success
+     */
+    public static TryLong successful(long x) {
+        return new LongSuccess(x);
+    }
+}
+
+final class LongSuccess extends TryLong {
+    private final long value;
+
+    LongSuccess(long value) {
+        this.value = value;
+    }
+
+    @Override
+    public TryLong map(TryLongMapFunction f) {
+        Objects.requireNonNull(f);
+        try {
+            return new LongSuccess(f.apply(value));
+        } catch (Throwable t) {
+            return TryLong.failure(t);
+        }
+    }
+
+    @Override
+    public TryLong flatMap(TryLongFunction<TryLong> f) {
+        Objects.requireNonNull(f);
+        try {
+            return f.apply(value);
+        } catch (Throwable t) {
+            return TryLong.failure(t);
+        }
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(TryLongFunction<? extends U> f) {
+        Objects.requireNonNull(f);
+        try {
+            return Try.successful(f.apply(value));
+        } catch (Throwable t) {
+            return Try.failure(t);
+        }
+    }
+
+    @Override
+    public Try<Long> boxed() {
+        return Try.successful(value);
+    }
+
+    @Override
+    public long recover(ToLongFunction<? super Throwable> f) {
+        Objects.requireNonNull(f);
+        return value;
+    }
+
+    @Override
+    public long orElse(long value) {
+        return this.value;
+    }
+
+    @Override
+    public long get() throws Throwable {
+        return value;
+    }
+
+    @Override
+    public long getUnchecked() {
+        return value;
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return true;
+    }
+
+    @Override
+    public TryLong filter(LongPredicate p) {
+        Objects.requireNonNull(p);
+
+        if (p.test(value)) {
+            return this;
+        } else {
+            return TryLong.failure(new NoSuchElementException("Predicate does not match for " + value));
+        }
+    }
+
+    @Override
+    public OptionalLong toOptional() {
+        return OptionalLong.of(value);
+    }
+}
+
+final class LongFailure extends TryLong {
+    private final Throwable e;
+
+    LongFailure(Throwable e) {
+        this.e = e;
+    }
+
+    @Override
+    public TryLong map(TryLongMapFunction f) {
+        Objects.requireNonNull(f);
+        return this;
+    }
+
+    @Override
+    public TryLong flatMap(TryLongFunction<TryLong> f) {
+        Objects.requireNonNull(f);
+        return this;
+    }
+
+    @Override
+    public <U> Try<U> mapToObj(TryLongFunction<? extends U> f) {
+        Objects.requireNonNull(f);
+        return Try.failure(e);
+    }
+
+    @Override
+    public Try<Long> boxed() {
+        return Try.failure(e);
+    }
+
+    @Override
+    public long recover(ToLongFunction<? super Throwable> f) {
+        Objects.requireNonNull(f);
+        return f.applyAsLong(e);
+    }
+
+    @Override
+    public long orElse(long value) {
+        return value;
+    }
+
+    @Override
+    public long get() throws Throwable {
+        throw e;
+    }
+
+    @Override
+    public long getUnchecked() {
+        throw new RuntimeException(e);
+    }
+
+    @Override
+    public boolean isSuccess() {
+        return false;
+    }
+
+    @Override
+    public TryLong filter(LongPredicate pred) {
+        return this;
+    }
+
+    @Override
+    public OptionalLong toOptional() {
+        return OptionalLong.empty();
+    }
+}
@@ -0,0 +1,11 @@
+package com.jasongoodwin.monads;
+
+/**
+ * Function from a long to an object that can throw, used by {@link TryLong#mapToObj} and {@link TryLong#flatMap}.
+ *
+ * @param <R> result type
+ */
+
+public interface TryLongFunction<R> {
+    R apply(long t) throws Throwable;
+}
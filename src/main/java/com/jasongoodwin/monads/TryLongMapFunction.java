@@ -0,0 +1,9 @@
+package com.jasongoodwin.monads;
+
+/**
+ * long to long specialization of {@link TryMapFunction}, used by {@link TryLong#map}.
+ */
+
+public interface TryLongMapFunction {
+    long apply(long t) throws Throwable;
+}
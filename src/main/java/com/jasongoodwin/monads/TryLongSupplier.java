@@ -0,0 +1,10 @@
+package com.jasongoodwin.monads;
+
+/**
+ * long specialization of {@link TrySupplier}.
+ * It has a checked exception on it to allow it to be used in lambda expressions on {@link TryLong}.
+ */
+
+public interface TryLongSupplier {
+    long get() throws Throwable;
+}
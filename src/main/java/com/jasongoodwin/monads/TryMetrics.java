@@ -0,0 +1,193 @@
+package com.jasongoodwin.monads;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TryInstrumentation recording into striped counters.
+ * Successes are counted per operation, failures and recoveries per operation and exception class,
+ * and stage latencies into log2 bucketed histograms.
+ * Recording only touches LongAdders; snapshot and exportTo read them for exporting.
+ *
+ * Instrumentation.install(metrics);
+ * ...
+ * metrics.exportTo(exporter);
+ */
+public class TryMetrics implements TryInstrumentation {
+    private final EnumMap<Operation, LongAdder> successes = new EnumMap<>(Operation.class);
+    private final EnumMap<Operation, ConcurrentHashMap<Class<?>, LongAdder>> failures = new EnumMap<>(Operation.class);
+    private final ConcurrentHashMap<Class<?>, LongAdder> recoveries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Histogram> latencies = new ConcurrentHashMap<>();
+
+    public TryMetrics() {
+        for (Operation operation : Operation.values()) {
+            successes.put(operation, new LongAdder());
+            failures.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void success(Operation operation) {
+        successes.get(operation).increment();
+    }
+
+    @Override
+    public void failure(Operation operation, Throwable t) {
+        counter(failures.get(operation), t.getClass()).increment();
+    }
+
+    @Override
+    public void recovered(Throwable t) {
+        counter(recoveries, t.getClass()).increment();
+    }
+
+    @Override
+    public void latency(String stage, long nanos) {
+        Histogram histogram = latencies.get(stage);
+        if (histogram == null) {
+            histogram = latencies.computeIfAbsent(stage, s -> new Histogram());
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * @return a point in time copy of all counters
+     */
+    public Snapshot snapshot() {
+        Map<Operation, Long> s = new EnumMap<>(Operation.class);
+        Map<Operation, Map<Class<?>, Long>> f = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            s.put(operation, successes.get(operation).sum());
+            f.put(operation, sums(failures.get(operation)));
+        }
+        Map<String, LatencySnapshot> l = new HashMap<>();
+        latencies.forEach((stage, histogram) -> l.put(stage, histogram.snapshot()));
+        return new Snapshot(s, f, sums(recoveries), l);
+    }
+
+    public void exportTo(TryMetricsExporter exporter) {
+        Objects.requireNonNull(exporter).export(snapshot());
+    }
+
+    private static LongAdder counter(ConcurrentHashMap<Class<?>, LongAdder> counters, Class<?> type) {
+        LongAdder counter = counters.get(type);
+        return counter != null ? counter : counters.computeIfAbsent(type, c -> new LongAdder());
+    }
+
+    private static Map<Class<?>, Long> sums(Map<Class<?>, LongAdder> counters) {
+        Map<Class<?>, Long> result = new HashMap<>();
+        counters.forEach((type, counter) -> result.put(type, counter.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Point in time copy of TryMetrics.
+     */
+    public static final class Snapshot {
+        private final Map<Operation, Long> successes;
+        private final Map<Operation, Map<Class<?>, Long>> failures;
+        private final Map<Class<?>, Long> recoveries;
+        private final Map<String, LatencySnapshot> latencies;
+
+        private Snapshot(Map<Operation, Long> successes, Map<Operation, Map<Class<?>, Long>> failures,
+                         Map<Class<?>, Long> recoveries, Map<String, LatencySnapshot> latencies) {
+            this.successes = Collections.unmodifiableMap(successes);
+            this.failures = Collections.unmodifiableMap(failures);
+            this.recoveries = recoveries;
+            this.latencies = Collections.unmodifiableMap(latencies);
+        }
+
+        public Map<Operation, Long> successes() {
+            return successes;
+        }
+
+        /**
+         * @return failure counts per operation and exception class
+         */
+        public Map<Operation, Map<Class<?>, Long>> failures() {
+            return failures;
+        }
+
+        /**
+         * @return recover/recoverWith invocations per exception class
+         */
+        public Map<Class<?>, Long> recoveries() {
+            return recoveries;
+        }
+
+        public Map<String, LatencySnapshot> latencies() {
+            return latencies;
+        }
+    }
+
+    /**
+     * Latency histogram copy. Buckets are powers of two in nanoseconds so percentiles are upper bounds within 2x.
+     */
+    public static final class LatencySnapshot {
+        private final long count;
+        private final long sumNanos;
+        private final long[] buckets;
+
+        private LatencySnapshot(long count, long sumNanos, long[] buckets) {
+            this.count = count;
+            this.sumNanos = sumNanos;
+            this.buckets = buckets;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long sumNanos() {
+            return sumNanos;
+        }
+
+        /**
+         * @param p percentile between 0 and 1
+         * @return upper bound in nanoseconds of the bucket holding the percentile
+         */
+        public long percentileNanos(double p) {
+            long rank = (long) Math.ceil(p * count);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) {
+                    return i >= 63 ? Long.MAX_VALUE : (1L << i);
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class Histogram {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[64];
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            long n = Math.max(1, nanos);
+            buckets[64 - Long.numberOfLeadingZeros(n - 1)].increment();
+            count.increment();
+            sum.add(nanos);
+        }
+
+        LatencySnapshot snapshot() {
+            long[] b = new long[buckets.length];
+            for (int i = 0; i < b.length; i++) {
+                b[i] = buckets[i].sum();
+            }
+            return new LatencySnapshot(count.sum(), sum.sum(), b);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.jasongoodwin.monads;
+
+/**
+ * Exporter SPI for TryMetrics, eg to push snapshots into a metrics registry.
+ */
+public interface TryMetricsExporter {
+    void export(TryMetrics.Snapshot snapshot);
+}
@@ -0,0 +1,274 @@
+package com.jasongoodwin.monads;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Lazy, fused form of a chain of Try operations.
+ * map, flatMap, filter, recover and recoverWith only record a stage.
+ * A terminal operation (get, getUnchecked, orElse, toTry) runs the supplier and all stages in a single pass
+ * without allocating an intermediate Success or Failure per stage.
+ * Once a stage fails, the stages up to the next recover are skipped.
+ *
+ * Pipelines are immutable: each stage method returns a new pipeline linked to this one, so a pipeline can be
+ * branched and reused freely. The stages are flattened into arrays on the first run and kept for later runs.
+ * Running a terminal operation more than once runs the supplier again.
+ *
+ * @param <T> type of the value at the end of the pipeline
+ */
+public final class TryPipeline<T> {
+    private static final byte MAP = 0;
+    private static final byte FLAT_MAP = 1;
+    private static final byte FILTER = 2;
+    private static final byte RECOVER = 3;
+    private static final byte RECOVER_WITH = 4;
+
+    private final TrySupplier<?> source;
+    private final TryPipeline<?> previous;
+    private final byte kind;
+    private final Object stage;
+    private final int size;
+    private Stages flattened;
+
+    TryPipeline(TrySupplier<T> source) {
+        this(Objects.requireNonNull(source), null, (byte) -1, null, 0);
+    }
+
+    private TryPipeline(TrySupplier<?> source, TryPipeline<?> previous, byte kind, Object stage, int size) {
+        this.source = source;
+        this.previous = previous;
+        this.kind = kind;
+        this.stage = stage;
+        this.size = size;
+    }
+
+    /**
+     * Records a map stage.
+     * @param f function to apply to successful value.
+     * @param <U> new type (optional)
+     * @return a new pipeline with the stage added
+     */
+    public <U> TryPipeline<U> map(TryMapFunction<? super T, ? extends U> f) {
+        return add(MAP, f);
+    }
+
+    /**
+     * Records a flatMap stage.
+     * @param f function to apply to successful value.
+     * @param <U> new type (optional)
+     * @return a new pipeline with the stage added
+     */
+    public <U> TryPipeline<U> flatMap(TryMapFunction<? super T, Try<U>> f) {
+        return add(FLAT_MAP, f);
+    }
+
+    /**
+     * Records a filter stage. A predicate miss fails with a NoSuchElementException, like Try.filter.
+     * @param pred predicate applied to the value
+     * @return a new pipeline with the stage added
+     */
+    public TryPipeline<T> filter(Predicate<T> pred) {
+        return add(FILTER, pred);
+    }
+
+    /**
+     * Records a recover stage, turning a failure back into a value.
+     * @param f function that takes the throwable and returns a result
+     * @return a new pipeline with the stage added
+     */
+    public TryPipeline<T> recover(Function<? super Throwable, T> f) {
+        return add(RECOVER, f);
+    }
+
+    /**
+     * Records a recoverWith stage, replacing a failure with a new Try.
+     * @param f function that takes the throwable and returns a Try
+     * @return a new pipeline with the stage added
+     */
+    public TryPipeline<T> recoverWith(TryMapFunction<? super Throwable, Try<T>> f) {
+        return add(RECOVER_WITH, f);
+    }
+
+    /**
+     * Runs the pipeline.
+     * @return the resulting Success or Failure
+     */
+    public Try<T> toTry() {
+        Run run = run();
+        if (run.failure == null) {
+            return Try.successful(run.value());
+        }
+        return run.failed != null ? run.failed() : Try.failure(run.failure);
+    }
+
+    /**
+     * Runs the pipeline and gets the value or throws the cause of the failure.
+     * @return T
+     * @throws Throwable
+     */
+    public T get() throws Throwable {
+        Run run = run();
+        if (run.failure != null) {
+            throw run.failure;
+        }
+        return run.value();
+    }
+
+    /**
+     * Runs the pipeline and gets the value or throws the cause of the failure wrapped into a RuntimeException.
+     * @return T
+     * @throws RuntimeException
+     */
+    public T getUnchecked() {
+        Run run = run();
+        if (run.failure != null) {
+            throw new RuntimeException(run.failure);
+        }
+        return run.value();
+    }
+
+    /**
+     * Runs the pipeline and returns the value, or the value specified in case of failure.
+     * @param value value to return on failure
+     * @return T
+     */
+    public T orElse(T value) {
+        Run run = run();
+        return run.failure == null ? run.value() : value;
+    }
+
+    private <U> TryPipeline<U> add(byte kind, Object stage) {
+        Objects.requireNonNull(stage);
+        return new TryPipeline<>(source, this, kind, stage, size + 1);
+    }
+
+    /**
+     * Racing threads may both flatten; the result is the same and Stages is safely published by its final fields.
+     */
+    private Stages stages() {
+        Stages st = flattened;
+        if (st == null) {
+            byte[] kinds = new byte[size];
+            Object[] stages = new Object[size];
+            for (TryPipeline<?> p = this; p.size > 0; p = p.previous) {
+                kinds[p.size - 1] = p.kind;
+                stages[p.size - 1] = p.stage;
+            }
+            st = new Stages(kinds, stages);
+            flattened = st;
+        }
+        return st;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Run run() {
+        Stages st = stages();
+        byte[] kinds = st.kinds;
+        Object[] stages = st.stages;
+        Run run = new Run();
+        try {
+            run.value = source.get();
+        } catch (Throwable t) {
+            run.failure = t;
+        }
+
+        for (int i = 0; i < size; i++) {
+            Object stage = stages[i];
+            if (run.failure == null) {
+                switch (kinds[i]) {
+                    case MAP:
+                        try {
+                            run.value = ((TryMapFunction<Object, Object>) stage).apply(run.value);
+                        } catch (Throwable t) {
+                            run.failure = t;
+                        }
+                        break;
+                    case FLAT_MAP:
+                        try {
+                            run.unwrap(((TryMapFunction<Object, Try<Object>>) stage).apply(run.value));
+                        } catch (Throwable t) {
+                            run.failure = t;
+                        }
+                        break;
+                    case FILTER:
+                        if (!((Predicate<Object>) stage).test(run.value)) {
+                            run.failure = new NoSuchElementException("Predicate does not match for " + run.value);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            } else {
+                switch (kinds[i]) {
+                    case RECOVER:
+                        run.value = ((Function<Throwable, Object>) stage).apply(run.failure);
+                        run.failure = null;
+                        run.failed = null;
+                        break;
+                    case RECOVER_WITH:
+                        try {
+                            run.unwrap(((TryMapFunction<Throwable, Try<Object>>) stage).apply(run.failure));
+                        } catch (Throwable t) {
+                            run.failure = t;
+                            run.failed = null;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return run;
+    }
+
+    private static final class Stages {
+        final byte[] kinds;
+        final Object[] stages;
+
+        Stages(byte[] kinds, Object[] stages) {
+            this.kinds = kinds;
+            this.stages = stages;
+        }
+    }
+
+    /**
+     * State of one run. failed keeps a Failure returned by a stage so it can be handed back as is.
+     */
+    private static final class Run {
+        Object value;
+        Throwable failure;
+        Failure<?> failed;
+
+        void unwrap(Try<?> t) {
+            if (t instanceof Success) {
+                value = ((Success<?>) t).value();
+                failure = null;
+                failed = null;
+            } else if (t instanceof Failure) {
+                failed = (Failure<?>) t;
+                failure = failed.cause();
+            } else {
+                try {
+                    value = t.get();
+                    failure = null;
+                    failed = null;
+                } catch (Throwable e) {
+                    failure = e;
+                    failed = null;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T value() {
+            return (T) value;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> Try<T> failed() {
+            return (Try<T>) failed;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.jasongoodwin.monads;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free token bucket for TrySupplier calls.
+ *
+ * The bucket holds up to permits tokens and refills at permits per period. It is kept as the time the bucket will be
+ * full again (the generic cell rate algorithm), so taking a token is a single compare-and-set.
+ * Calls without a token return a preallocated Failure holding a RateLimitExceededException instead of blocking.
+ *
+ * Async calls may also reserve one of the next maxQueued tokens; they start on the shared timer when it is due.
+ * A reserved token is spent even if the caller cancels its future.
+ */
+public class TryRateLimiter {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long queueNanos;
+    private final LongSupplier clock;
+    private final AtomicLong full;
+    private final Try<?> rejected;
+    private final RateLimitExceededException rejection;
+
+    /**
+     * @param permits tokens per period, which is also the largest burst
+     * @param period refill period
+     */
+    public TryRateLimiter(long permits, Duration period) {
+        this(permits, period, 0);
+    }
+
+    /**
+     * @param permits tokens per period, which is also the largest burst
+     * @param period refill period
+     * @param maxQueued async calls that may wait for a token
+     */
+    public TryRateLimiter(long permits, Duration period, int maxQueued) {
+        this(permits, period, maxQueued, System::nanoTime);
+    }
+
+    TryRateLimiter(long permits, Duration period, int maxQueued, LongSupplier clock) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("permits must be positive: " + permits);
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("maxQueued must not be negative: " + maxQueued);
+        }
+        this.intervalNanos = Math.max(1, period.toNanos() / permits);
+        this.burstNanos = intervalNanos * permits;
+        this.queueNanos = intervalNanos * maxQueued;
+        this.clock = clock;
+        this.full = new AtomicLong(clock.getAsLong());
+        this.rejection = new RateLimitExceededException("Rate limit exceeded");
+        this.rejected = Try.failure(rejection);
+    }
+
+    /**
+     * Run the supplier if a token is available.
+     * @param f supplier to run
+     * @param <T> type
+     * @return the outcome of f, or the shared Failure when no token is available
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Try<T> call(TrySupplier<T> f) {
+        Objects.requireNonNull(f);
+        if (reserve(0) != 0) {
+            return (Try<T>) rejected;
+        }
+        return Try.ofFailable(f);
+    }
+
+    /**
+     * @param f function to limit
+     * @param <T> input type
+     * @param <R> result type
+     * @return function calling f through this limiter
+     */
+    public <T, R> Function<T, Try<R>> wrap(TryMapFunction<? super T, ? extends R> f) {
+        Objects.requireNonNull(f);
+        return t -> call(() -> f.apply(t));
+    }
+
+    /**
+     * Start an async call now if a token is available, or when a reserved token is due.
+     * @param f supplier starting the call
+     * @param <T> type
+     * @return the future of the call, or a future failed with the shared RateLimitExceededException
+     *         when no token is available and the queue is full
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<? extends CompletionStage<T>> f) {
+        Objects.requireNonNull(f);
+        long delay = reserve(queueNanos);
+        if (delay < 0) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(rejection);
+            return future;
+        }
+        if (delay == 0) {
+            return start(f);
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        SharedScheduler.schedule(() -> {
+            if (!future.isDone()) {
+                start(f).whenComplete((v, e) -> {
+                    if (e == null) {
+                        future.complete(v);
+                    } else {
+                        future.completeExceptionally(e);
+                    }
+                });
+            }
+        }, delay);
+        return future;
+    }
+
+    /**
+     * Run the supplier on the executor when a token is available, see Futures.supplyTry.
+     * @param f supplier to run
+     * @param executor executor to run on
+     * @param <T> type
+     * @return the future of the call, or a future failed with the shared RateLimitExceededException
+     */
+    public <T> CompletableFuture<T> supplyAsync(TrySupplier<T> f, Executor executor) {
+        Objects.requireNonNull(f);
+        return callAsync(() -> Futures.supplyTry(f, executor));
+    }
+
+    /**
+     * Take a token, allowing the bucket to be overdrawn by up to extraNanos worth of tokens.
+     * @return nanos until the token is due, 0 to go now, or -1 when rejected
+     */
+    private long reserve(long extraNanos) {
+        while (true) {
+            long now = clock.getAsLong();
+            long current = full.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > extraNanos) {
+                return -1;
+            }
+            if (full.compareAndSet(current, next)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<? extends CompletionStage<T>> f) {
+        try {
+            return f.get().toCompletableFuture();
+        } catch (Throwable t) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(t);
+            return future;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.jasongoodwin.monads;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Structured fan-out: subtasks forked in a scope never outlive it.
+ * Each fork returns a Subtask whose join() gives a Try, and the scope shuts down, interrupting the subtasks still
+ * running, as soon as its policy has an outcome, when the joining thread is interrupted, or when it is closed.
+ * join() and close() wait until every subtask body has exited, so a subtask that ignores interrupts holds them up.
+ * Use it in try-with-resources so an abandoned request doesn't leave subtasks burning CPU and connections.
+ * Subtasks run on Futures.blockingExecutor() unless an executor is given.
+ */
+public final class TryScope implements AutoCloseable {
+
+    private enum Policy { SHUTDOWN_ON_FAILURE, SHUTDOWN_ON_SUCCESS }
+
+    private final Policy policy;
+    private final Executor executor;
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    private int running;
+    private boolean shutdown;
+    private Try<?> outcome;
+
+    private TryScope(Policy policy, Executor executor) {
+        this.policy = policy;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * @return a scope which shuts down when any subtask fails, eg to fetch several parts of one response
+     */
+    public static TryScope shutdownOnFailure() {
+        return shutdownOnFailure(Futures.blockingExecutor());
+    }
+
+    /**
+     * @param executor executor to run subtasks on
+     * @return a scope which shuts down when any subtask fails
+     */
+    public static TryScope shutdownOnFailure(Executor executor) {
+        return new TryScope(Policy.SHUTDOWN_ON_FAILURE, executor);
+    }
+
+    /**
+     * @return a scope which shuts down when any subtask succeeds, eg to query replicas and keep the fastest answer
+     */
+    public static TryScope shutdownOnSuccess() {
+        return shutdownOnSuccess(Futures.blockingExecutor());
+    }
+
+    /**
+     * @param executor executor to run subtasks on
+     * @return a scope which shuts down when any subtask succeeds
+     */
+    public static TryScope shutdownOnSuccess(Executor executor) {
+        return new TryScope(Policy.SHUTDOWN_ON_SUCCESS, executor);
+    }
+
+    /**
+     * Start a subtask. Forking after shutdown doesn't run f, and the subtask joins as a cancelled Failure.
+     * @param f supplier to run
+     * @param <T> type
+     * @return handle to the subtask
+     */
+    public <T> Subtask<T> fork(TrySupplier<T> f) {
+        Subtask<T> subtask = new Subtask<>(this, Objects.requireNonNull(f));
+        synchronized (this) {
+            if (shutdown) {
+                subtask.result.complete(new Failure<>(new CancellationException("Scope is shut down")));
+                return subtask;
+            }
+            subtasks.add(subtask);
+            running++;
+        }
+        try {
+            executor.execute(subtask::run);
+        } catch (Throwable t) {
+            subtask.complete(new Failure<>(t));
+            exited();
+        }
+        return subtask;
+    }
+
+    /**
+     * Wait until every subtask has finished, or the scope has shut down and the interrupted subtasks have exited.
+     * If the waiting thread is interrupted the scope shuts down before the exception is thrown.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void join() throws InterruptedException {
+        try {
+            synchronized (this) {
+                while (running > 0) {
+                    wait();
+                }
+            }
+        } catch (InterruptedException e) {
+            shutdown();
+            throw e;
+        }
+    }
+
+    /**
+     * Like join, shutting the scope down if the timeout passes first.
+     * Subtasks cut off by the deadline join as Failures of StacklessTimeoutException.
+     * The timed join doesn't wait for them to exit; close() does.
+     * @param timeout maximum time to wait
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void join(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            synchronized (this) {
+                long remaining;
+                while (running > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+                    wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+                }
+                if (running == 0) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            shutdown();
+            throw e;
+        }
+        shutdown(new StacklessTimeoutException("Scope timed out after " + timeout));
+    }
+
+    /**
+     * Cancel every unfinished subtask, interrupting those already running, and refuse further forks.
+     */
+    public void shutdown() {
+        shutdown(new CancellationException("Scope is shut down"));
+    }
+
+    /**
+     * @return the cause of the first failed subtask, if any, for a shutdown-on-failure scope
+     */
+    public synchronized Optional<Throwable> firstFailure() {
+        if (policy == Policy.SHUTDOWN_ON_FAILURE && outcome != null) {
+            return Optional.of(((Failure<?>) outcome).cause());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The result of the first subtask to succeed in a shutdown-on-success scope, typed by the caller,
+     * so every subtask in such a scope should produce a T.
+     * @param <T> type
+     * @return Success of the first value, or a Failure with the subtask causes suppressed if none succeeded
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> Try<T> firstSuccess() {
+        if (policy == Policy.SHUTDOWN_ON_SUCCESS && outcome != null) {
+            return (Try<T>) outcome;
+        }
+        StacklessException e = new StacklessException("No subtask succeeded");
+        for (Subtask<?> subtask : subtasks) {
+            Try<?> result = subtask.result.getNow(null);
+            if (result != null && !result.isSuccess()) {
+                e.addSuppressed(((Failure<?>) result).cause());
+            }
+        }
+        return new Failure<>(e);
+    }
+
+    /**
+     * Shut down and wait for every subtask body to exit, so none keeps running once the scope's block has been left.
+     * Interrupting the closing thread doesn't cut the wait short; its interrupt status is restored afterwards.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        boolean interrupted = false;
+        synchronized (this) {
+            while (running > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void shutdown(Throwable reason) {
+        List<Subtask<?>> unfinished;
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            unfinished = new ArrayList<>(subtasks);
+        }
+        // joiners only wake as subtask bodies exit, and a body exits after its subtask has completed
+        for (Subtask<?> subtask : unfinished) {
+            subtask.cancel(reason);
+        }
+    }
+
+    private synchronized void exited() {
+        if (--running == 0) {
+            notifyAll();
+        }
+    }
+
+    private void onComplete(Try<?> result) {
+        boolean decided = false;
+        synchronized (this) {
+            if (outcome == null && !shutdown && result.isSuccess() == (policy == Policy.SHUTDOWN_ON_SUCCESS)) {
+                outcome = result;
+                decided = true;
+            }
+        }
+        if (decided) {
+            shutdown();
+        }
+    }
+
+    /**
+     * Handle to a forked subtask.
+     * @param <T> type
+     */
+    public static final class Subtask<T> {
+        private final TryScope scope;
+        private final CompletableFuture<Try<T>> result = new CompletableFuture<>();
+        private final FutureTask<Void> task;
+
+        private Subtask(TryScope scope, TrySupplier<T> f) {
+            this.scope = scope;
+            this.task = new FutureTask<>(() -> {
+                try {
+                    complete(new Success<>(f.get()));
+                } catch (Throwable t) {
+                    complete(new Failure<>(t));
+                }
+            }, null);
+        }
+
+        /**
+         * Wait for the subtask, which returns straight away once the scope has been joined.
+         * @return the subtask's Try, a Failure of CancellationException if the scope shut down first
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public Try<T> join() throws InterruptedException {
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        /**
+         * Run the body on the executor's thread; FutureTask.run only returns once the body has exited,
+         * or straight away if the subtask was cancelled before it started.
+         */
+        private void run() {
+            try {
+                task.run();
+            } finally {
+                scope.exited();
+            }
+        }
+
+        public boolean isDone() {
+            return result.isDone();
+        }
+
+        private boolean complete(Try<T> t) {
+            if (result.complete(t)) {
+                scope.onComplete(t);
+                return true;
+            }
+            return false;
+        }
+
+        private void cancel(Throwable reason) {
+            // a finished subtask may be the one shutting the scope down, and mustn't interrupt its own thread;
+            // completing first keeps the reason, rather than the InterruptedException the subtask sees
+            if (!result.isDone() && complete(new Failure<>(reason))) {
+                task.cancel(true);
+            }
+        }
+    }
+}
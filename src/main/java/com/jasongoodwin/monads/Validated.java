@@ -0,0 +1,297 @@
+package com.jasongoodwin.monads;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Validation result which accumulates every error rather than stopping at the first like Try.
+ * A Validated is either valid with a value of type T, or invalid with one or more errors of type E.
+ * Errors are plain values (eg messages or error codes), so nothing captures a stack trace.
+ *
+ * Combining two invalid results concatenates their errors in constant time: errors are held in a persistent
+ * append tree and only flattened into a List when getErrors is called.
+ *
+ * Validated.mapN(name(req), age(req), email(req), User::new)
+ *
+ * @param <E> error type
+ * @param <T> value type
+ */
+public abstract class Validated<E, T> {
+
+    Validated() {
+    }
+
+    public static <E, T> Validated<E, T> valid(T value) {
+        return new Valid<>(value);
+    }
+
+    public static <E, T> Validated<E, T> invalid(E error) {
+        return new Invalid<>(Errors.of(error));
+    }
+
+    /**
+     * Convert a Try, using the failure's throwable as the error.
+     * @param t the Try
+     * @param <T> value type
+     * @return Valid on Success, Invalid on Failure
+     */
+    public static <T> Validated<Throwable, T> fromTry(Try<T> t) {
+        Objects.requireNonNull(t);
+        try {
+            return valid(t.get());
+        } catch (Throwable e) {
+            return invalid(e);
+        }
+    }
+
+    public abstract boolean isValid();
+
+    /**
+     * @return the value
+     * @throws NoSuchElementException if invalid
+     */
+    public abstract T get();
+
+    /**
+     * @return the errors in the order they were combined, empty if valid
+     */
+    public abstract List<E> getErrors();
+
+    public abstract <U> Validated<E, U> map(Function<? super T, ? extends U> f);
+
+    /**
+     * Combine with another Validated. Valid only if both are, otherwise invalid with the errors of both.
+     * @param other other Validated
+     * @param f function combining both values
+     * @param <U> other value type
+     * @param <R> result type
+     * @return combined Validated
+     */
+    public abstract <U, R> Validated<E, R> combine(Validated<E, U> other, BiFunction<? super T, ? super U, ? extends R> f);
+
+    /**
+     * @return Success of the value, or a Failure holding a ValidationException with all errors
+     */
+    public abstract Try<T> toTry();
+
+    /**
+     * @param toThrowable function building the failure from all errors
+     * @return Success of the value, or a Failure with the throwable built from the errors
+     */
+    public abstract Try<T> toTry(Function<? super List<E>, ? extends Throwable> toThrowable);
+
+    public static <E, A, B, R> Validated<E, R> mapN(Validated<E, A> a, Validated<E, B> b,
+                                                    BiFunction<? super A, ? super B, ? extends R> f) {
+        return a.combine(b, f);
+    }
+
+    public static <E, A, B, C, R> Validated<E, R> mapN(Validated<E, A> a, Validated<E, B> b, Validated<E, C> c,
+                                                       Function3<? super A, ? super B, ? super C, ? extends R> f) {
+        Objects.requireNonNull(f);
+        if (a.isValid() && b.isValid() && c.isValid()) {
+            return valid(f.apply(a.get(), b.get(), c.get()));
+        }
+        return new Invalid<>(Errors.concat(Errors.concat(errors(a), errors(b)), errors(c)));
+    }
+
+    public static <E, A, B, C, D, R> Validated<E, R> mapN(Validated<E, A> a, Validated<E, B> b, Validated<E, C> c,
+                                                          Validated<E, D> d,
+                                                          Function4<? super A, ? super B, ? super C, ? super D, ? extends R> f) {
+        Objects.requireNonNull(f);
+        if (a.isValid() && b.isValid() && c.isValid() && d.isValid()) {
+            return valid(f.apply(a.get(), b.get(), c.get(), d.get()));
+        }
+        return new Invalid<>(Errors.concat(Errors.concat(errors(a), errors(b)), Errors.concat(errors(c), errors(d))));
+    }
+
+    /**
+     * Turn a List of Validated into a Validated of a List, accumulating the errors of all invalid elements.
+     * @param validated list of Validated
+     * @param <E> error type
+     * @param <T> value type
+     * @return Valid of all values, or Invalid with all errors
+     */
+    public static <E, T> Validated<E, List<T>> sequence(List<Validated<E, T>> validated) {
+        Errors<E> errors = null;
+        List<T> values = new ArrayList<>(validated.size());
+        for (Validated<E, T> v : validated) {
+            if (v.isValid()) {
+                if (errors == null) {
+                    values.add(v.get());
+                }
+            } else {
+                errors = Errors.concat(errors, ((Invalid<E, T>) v).errors);
+            }
+        }
+        return errors == null ? valid(values) : new Invalid<>(errors);
+    }
+
+    public interface Function3<A, B, C, R> {
+        R apply(A a, B b, C c);
+    }
+
+    public interface Function4<A, B, C, D, R> {
+        R apply(A a, B b, C c, D d);
+    }
+
+    private static <E> Errors<E> errors(Validated<E, ?> v) {
+        return v instanceof Invalid ? ((Invalid<E, ?>) v).errors : null;
+    }
+
+    /**
+     * Persistent append tree of errors. A node is either a leaf holding one error or the concatenation of two trees.
+     */
+    static final class Errors<E> {
+        private final E error;
+        private final Errors<E> left;
+        private final Errors<E> right;
+        private final int size;
+
+        private Errors(E error, Errors<E> left, Errors<E> right, int size) {
+            this.error = error;
+            this.left = left;
+            this.right = right;
+            this.size = size;
+        }
+
+        static <E> Errors<E> of(E error) {
+            return new Errors<>(error, null, null, 1);
+        }
+
+        /**
+         * @return the concatenation, where either side may be null for no errors
+         */
+        static <E> Errors<E> concat(Errors<E> left, Errors<E> right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            return new Errors<>(null, left, right, left.size + right.size);
+        }
+
+        List<E> toList() {
+            List<E> list = new ArrayList<>(size);
+            Deque<Errors<E>> stack = new ArrayDeque<>();
+            stack.push(this);
+            while (!stack.isEmpty()) {
+                Errors<E> node = stack.pop();
+                if (node.left == null) {
+                    list.add(node.error);
+                } else {
+                    stack.push(node.right);
+                    stack.push(node.left);
+                }
+            }
+            return Collections.unmodifiableList(list);
+        }
+    }
+}
+
+final class Valid<E, T> extends Validated<E, T> {
+    private final T value;
+
+    Valid(T value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean isValid() {
+        return true;
+    }
+
+    @Override
+    public T get() {
+        return value;
+    }
+
+    @Override
+    public List<E> getErrors() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public <U> Validated<E, U> map(Function<? super T, ? extends U> f) {
+        Objects.requireNonNull(f);
+        return new Valid<>(f.apply(value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U, R> Validated<E, R> combine(Validated<E, U> other, BiFunction<? super T, ? super U, ? extends R> f) {
+        Objects.requireNonNull(f);
+        if (other.isValid()) {
+            return new Valid<>(f.apply(value, other.get()));
+        }
+        return (Validated<E, R>) other;
+    }
+
+    @Override
+    public Try<T> toTry() {
+        return Try.successful(value);
+    }
+
+    @Override
+    public Try<T> toTry(Function<? super List<E>, ? extends Throwable> toThrowable) {
+        Objects.requireNonNull(toThrowable);
+        return Try.successful(value);
+    }
+}
+
+final class Invalid<E, T> extends Validated<E, T> {
+    final Errors<E> errors;
+
+    Invalid(Errors<E> errors) {
+        this.errors = errors;
+    }
+
+    @Override
+    public boolean isValid() {
+        return false;
+    }
+
+    @Override
+    public T get() {
+        throw new NoSuchElementException("Validated is invalid");
+    }
+
+    @Override
+    public List<E> getErrors() {
+        return errors.toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U> Validated<E, U> map(Function<? super T, ? extends U> f) {
+        Objects.requireNonNull(f);
+        return (Validated<E, U>) this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U, R> Validated<E, R> combine(Validated<E, U> other, BiFunction<? super T, ? super U, ? extends R> f) {
+        Objects.requireNonNull(f);
+        if (other.isValid()) {
+            return (Validated<E, R>) this;
+        }
+        return new Invalid<>(Errors.concat(errors, ((Invalid<E, U>) other).errors));
+    }
+
+    @Override
+    public Try<T> toTry() {
+        return Try.failure(new ValidationException(getErrors()));
+    }
+
+    @Override
+    public Try<T> toTry(Function<? super List<E>, ? extends Throwable> toThrowable) {
+        return Try.failure(toThrowable.apply(getErrors()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.jasongoodwin.monads;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Failure holding all errors of an invalid Validated, see Validated.toTry.
+ * The message is only built when asked for.
+ */
+public class ValidationException extends StacklessException {
+    private static final long serialVersionUID = 1L;
+
+    private final ArrayList<?> errors;
+
+    public ValidationException(List<?> errors) {
+        super(null);
+        this.errors = new ArrayList<>(errors);
+    }
+
+    public List<?> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Validation failed: " + errors;
+    }
+}
@@ -2,11 +2,24 @@ package com.jasongoodwin.monads;
 
 import org.junit.Test;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.junit.Assert.*;
+
 public class FuturesTest {
     @Test
     public void itShouldConvertAListOfFuturesToAFutureWithAList() throws Exception {
@@ -26,4 +39,353 @@ public class FuturesTest {
         assert(collectedIntegers.size() == size);
         assert(list.get(5) == collectedIntegers.get(5));
     }
+
+    @Test
+    public void itShouldFailSequenceWhenAnyFutureFails() throws Exception {
+        CompletableFuture<Integer> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException());
+
+        CompletableFuture<List<Integer>> futureList =
+                Futures.sequence(Arrays.asList(CompletableFuture.completedFuture(1), failed));
+
+        try {
+            futureList.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void itShouldSequenceAnEmptyList() throws Exception {
+        assertTrue(Futures.<Integer>sequence(Collections.emptyList()).get().isEmpty());
+    }
+
+    @Test
+    public void itShouldFailFastWithoutWaitingForTheRest() throws Exception {
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+        CompletableFuture<Integer> failing = new CompletableFuture<>();
+
+        CompletableFuture<List<Integer>> futureList = Futures.sequenceFailFast(Arrays.asList(pending, failing));
+        failing.completeExceptionally(new IllegalStateException());
+
+        assertTrue(futureList.isCompletedExceptionally());
+        assertFalse(pending.isDone());
+    }
+
+    @Test
+    public void itShouldCancelRemainingFuturesOnFailure() throws Exception {
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+        CompletableFuture<Integer> failing = new CompletableFuture<>();
+
+        CompletableFuture<List<Integer>> futureList = Futures.sequenceFailFast(Arrays.asList(pending, failing), true);
+        failing.completeExceptionally(new IllegalStateException());
+
+        assertTrue(futureList.isCompletedExceptionally());
+        assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    public void itShouldKeepOrderWhenFailFastSucceeds() throws Exception {
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        CompletableFuture<Integer> second = new CompletableFuture<>();
+
+        CompletableFuture<List<Integer>> futureList = Futures.sequenceFailFast(Arrays.asList(first, second));
+        second.complete(2);
+        first.complete(1);
+
+        assertEquals(Arrays.asList(1, 2), futureList.get());
+    }
+
+    @Test
+    public void itShouldTraverseWithBoundedConcurrency() throws Exception {
+        List<Integer> list = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        try {
+            List<Integer> results = Futures.traverse(list, x -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(1);
+                running.decrementAndGet();
+                return x * 2;
+            }, 4, executor).get();
+
+            assertEquals(list.size(), results.size());
+            assertEquals(Integer.valueOf(10), results.get(5));
+            assertTrue(maxRunning.get() <= 4);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void itShouldTraverseCompletedFuturesWithoutRecursing() throws Exception {
+        List<Integer> list = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+
+        List<Integer> results = Futures.traverseAsync(list, CompletableFuture::completedFuture, 8).get();
+
+        assertEquals(list, results);
+    }
+
+    @Test
+    public void itShouldStopTraversingOnFailure() throws Exception {
+        List<Integer> list = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<List<Integer>> result = Futures.traverseAsync(list, x -> {
+            started.incrementAndGet();
+            CompletableFuture<Integer> f = new CompletableFuture<>();
+            if (x == 10) {
+                f.completeExceptionally(new IllegalStateException());
+            } else {
+                f.complete(x);
+            }
+            return f;
+        }, 1);
+
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(11, started.get());
+    }
+
+    @Test
+    public void itShouldSupplyTryOffTheCallingThread() throws Exception {
+        Thread caller = Thread.currentThread();
+
+        Thread runner = Futures.supplyTry(Thread::currentThread).get();
+
+        assertNotSame(caller, runner);
+    }
+
+    @Test
+    public void itShouldCompleteExceptionallyWhenSupplierThrows() throws Exception {
+        CompletableFuture<String> f = Futures.supplyTry(() -> {
+            throw new IOException("io");
+        });
+
+        try {
+            f.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void itShouldRetryAsyncUntilSuccess() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Integer result = Futures.retry(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException();
+            }
+            return attempts.get();
+        }, RetryPolicy.maxAttempts(5).withBackoff(Duration.ofMillis(1), Duration.ofMillis(5)).withJitter(0.5)).get();
+
+        assertEquals(3, result.intValue());
+    }
+
+    @Test
+    public void itShouldFailAsyncRetryWithLastFailure() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<Integer> f = Futures.retry(() -> {
+            throw new IllegalStateException("attempt " + attempts.incrementAndGet());
+        }, RetryPolicy.maxAttempts(3));
+
+        try {
+            f.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals("attempt 3", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void itShouldTimeOutSlowFutures() throws Exception {
+        CompletableFuture<Integer> slow = new CompletableFuture<>();
+
+        CompletableFuture<Integer> f = Futures.withTimeout(slow, Duration.ofMillis(20));
+
+        try {
+            f.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof StacklessTimeoutException);
+            assertEquals(0, e.getCause().getStackTrace().length);
+        }
+        assertFalse(slow.isDone());
+    }
+
+    @Test
+    public void itShouldCompleteBeforeTimeout() throws Exception {
+        CompletableFuture<Integer> fast = new CompletableFuture<>();
+
+        CompletableFuture<Integer> f = Futures.withTimeout(fast, Duration.ofSeconds(10));
+        fast.complete(1);
+
+        assertEquals(1, f.get().intValue());
+    }
+
+    @Test
+    public void itShouldTimeOutSequenceWithASlowFuture() throws Exception {
+        CompletableFuture<List<Integer>> f = Futures.sequence(
+                Arrays.asList(CompletableFuture.completedFuture(1), new CompletableFuture<>()), Duration.ofMillis(20));
+
+        try {
+            f.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof StacklessTimeoutException);
+        }
+    }
+
+    @Test
+    public void itShouldStopTraversingAtDeadline() throws Exception {
+        List<Integer> list = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        AtomicInteger started = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            CompletableFuture<List<Integer>> f = Futures.traverse(list, x -> {
+                started.incrementAndGet();
+                Thread.sleep(20);
+                return x;
+            }, 1, executor, Duration.ofMillis(50));
+
+            try {
+                f.get();
+                fail();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof StacklessTimeoutException);
+            }
+            Thread.sleep(50);
+            assertTrue(started.get() < 10);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void itShouldCompleteWithTheFirstSuccess() throws Exception {
+        CompletableFuture<Integer> failed = new CompletableFuture<>();
+        CompletableFuture<Integer> slow = new CompletableFuture<>();
+        CompletableFuture<Integer> fast = new CompletableFuture<>();
+
+        CompletableFuture<Integer> f = Futures.firstSuccessful(Arrays.asList(failed, slow, fast), true);
+        failed.completeExceptionally(new IOException("down"));
+        assertFalse(f.isDone());
+        fast.complete(2);
+
+        assertEquals(2, f.get().intValue());
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    public void itShouldFailFirstSuccessfulWithEveryCause() throws Exception {
+        CompletableFuture<Integer> a = new CompletableFuture<>();
+        CompletableFuture<Integer> b = new CompletableFuture<>();
+
+        CompletableFuture<Integer> f = Futures.firstSuccessful(Arrays.asList(a, b));
+        b.completeExceptionally(new IOException("b"));
+        a.completeExceptionally(new IOException("a"));
+
+        try {
+            f.get();
+            fail();
+        } catch (ExecutionException e) {
+            Throwable[] suppressed = e.getCause().getSuppressed();
+            assertEquals(2, suppressed.length);
+            assertEquals("a", suppressed[0].getMessage());
+            assertEquals("b", suppressed[1].getMessage());
+        }
+    }
+
+    @Test
+    public void itShouldHedgeASlowAttemptAndInterruptTheLoser() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newCachedThreadPool();
+
+        try {
+            CompletableFuture<Integer> f = Futures.hedge(() -> {
+                if (attempts.incrementAndGet() == 1) {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                }
+                return 2;
+            }, Duration.ofMillis(20), 1, executor);
+
+            assertEquals(2, f.get().intValue());
+            assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+            assertEquals(2, attempts.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void itShouldFailHedgeWhenEveryAttemptFails() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<Integer> f = Futures.hedge(() -> {
+            throw new IOException("attempt " + attempts.incrementAndGet());
+        }, Duration.ofSeconds(10), 2, Runnable::run);
+
+        try {
+            f.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals(3, e.getCause().getSuppressed().length);
+        }
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void itShouldSequenceIntoAMutableList() throws Exception {
+        List<Integer> list = Futures.sequence(Arrays.asList(CompletableFuture.completedFuture(1))).get();
+
+        list.add(2);
+        assertEquals(Arrays.asList(1, 2), list);
+    }
+
+    @Test
+    public void itShouldTraverseIntoAMutableList() throws Exception {
+        List<Integer> list = Futures.traverse(Arrays.asList(1, 2), x -> x * 2, 1, Runnable::run).get();
+
+        list.add(6);
+        assertEquals(Arrays.asList(2, 4, 6), list);
+    }
+
+    @Test
+    public void itShouldWaitTheFullDelayBeforeTheNextHedgeAfterAFailure() throws Exception {
+        AtomicLongArray startedAt = new AtomicLongArray(3);
+        AtomicInteger attempts = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool();
+
+        try {
+            CompletableFuture<Integer> f = Futures.hedge(() -> {
+                int attempt = attempts.getAndIncrement();
+                startedAt.set(attempt, System.nanoTime());
+                if (attempt == 0) {
+                    Thread.sleep(100);
+                    throw new IOException("down");
+                }
+                if (attempt == 1) {
+                    Thread.sleep(10_000);
+                }
+                return attempt;
+            }, Duration.ofMillis(200), 2, executor);
+
+            assertEquals(2, f.get().intValue());
+            assertTrue(startedAt.get(2) - startedAt.get(1) >= TimeUnit.MILLISECONDS.toNanos(180));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
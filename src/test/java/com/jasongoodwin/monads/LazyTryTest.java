@@ -0,0 +1,120 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LazyTryTest {
+    @Test
+    public void itShouldNotRunUntilForced() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyTry<Integer> lazy = LazyTry.of(calls::incrementAndGet);
+
+        assertFalse(lazy.isEvaluated());
+        assertEquals(0, calls.get());
+        assertEquals(1, lazy.getUnchecked().intValue());
+        assertTrue(lazy.isEvaluated());
+    }
+
+    @Test
+    public void itShouldMemoizeTheResult() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyTry<Integer> lazy = LazyTry.of(calls::incrementAndGet);
+
+        Try<Integer> first = lazy.force();
+        Try<Integer> second = lazy.force();
+
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void itShouldMemoizeFailures() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyTry<Integer> lazy = LazyTry.of(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        });
+
+        assertEquals(-1, lazy.orElse(-1).intValue());
+        assertEquals(-1, lazy.orElse(-1).intValue());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void itShouldMapLazily() throws Throwable {
+        AtomicInteger calls = new AtomicInteger();
+        LazyTry<String> lazy = LazyTry.of(() -> "1");
+        LazyTry<Integer> mapped = lazy.<Integer>map(Integer::valueOf).map(x -> x + calls.incrementAndGet());
+        LazyTry<Integer> flatMapped = lazy.flatMap(x -> Try.ofFailable(() -> Integer.valueOf(x + "0")));
+
+        assertFalse(lazy.isEvaluated());
+        assertEquals(0, calls.get());
+        assertEquals(2, mapped.get().intValue());
+        assertEquals(10, flatMapped.get().intValue());
+        assertTrue(lazy.isEvaluated());
+    }
+
+    @Test
+    public void itShouldRunOnceWhenForcedConcurrently() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        LazyTry<Integer> lazy = LazyTry.of(calls::incrementAndGet);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Try<Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return lazy.force();
+                }));
+            }
+            start.countDown();
+            for (Future<Try<Integer>> result : results) {
+                assertSame(lazy.force(), result.get());
+            }
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void itShouldForceOnAnotherThread() throws Exception {
+        LazyTry<String> lazy = LazyTry.of(() -> Thread.currentThread().getName());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Try<String> t = lazy.forceAsync(executor).get();
+
+            assertSame(lazy.force(), t);
+            assertNotEquals(Thread.currentThread().getName(), t.getUnchecked());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void itShouldPassTheSameFailureThroughMapAndFlatMap() {
+        Try<Integer> failure = Try.<Integer>failure(new IllegalStateException()).mapFailureContext("stage", "load");
+
+        Try<Integer> t = LazyTry.of(() -> 1).flatMap(x -> failure).map(x -> x + 1).force();
+
+        assertSame(failure, t);
+        assertEquals("load", ((Failure<Integer>) t).context().get("stage"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void itShouldRejectANullExecutor() {
+        LazyTry.of(() -> 1).forceAsync(null);
+    }
+}
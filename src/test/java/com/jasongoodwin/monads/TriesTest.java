@@ -0,0 +1,99 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class TriesTest {
+    @Test
+    public void itShouldTraverseAllValuesOnSuccess() throws Throwable {
+        Try<List<Integer>> t = Tries.traverse(Arrays.asList("1", "2", "3"), Integer::valueOf);
+        assertEquals(Arrays.asList(1, 2, 3), t.get());
+    }
+
+    @Test
+    public void itShouldStopTraversingAtFirstFailure() {
+        AtomicInteger calls = new AtomicInteger();
+        Try<List<Integer>> t = Tries.traverse(Arrays.asList("1", "x", "3"), x -> {
+            calls.incrementAndGet();
+            return Integer.valueOf(x);
+        });
+
+        assertFalse(t.isSuccess());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void itShouldSequenceTrys() throws Throwable {
+        Try<Integer> failure = Try.failure(new IllegalStateException());
+
+        assertEquals(Arrays.asList(1, 2), Tries.sequence(Arrays.asList(Try.successful(1), Try.successful(2))).get());
+        assertSame(failure, Tries.sequence(Arrays.asList(Try.successful(1), failure)));
+    }
+
+    @Test
+    public void itShouldPartitionSuccessesAndFailures() {
+        Tries.Partition<Integer> p = Tries.partition(Arrays.asList("1", "x", "3", "y"), Integer::valueOf);
+
+        assertEquals(Arrays.asList(1, 3), p.successes());
+        assertEquals(2, p.failures().size());
+        assertArrayEquals(new int[]{1, 3}, p.failureIndexes());
+    }
+
+    @Test
+    public void itShouldPartitionListOfTrys() {
+        Tries.Partition<Integer> p = Tries.partition(Arrays.asList(
+                Try.successful(1), Try.<Integer>failure(new IllegalStateException()), Try.successful(3)));
+
+        assertEquals(Arrays.asList(1, 3), p.successes());
+        assertArrayEquals(new int[]{1}, p.failureIndexes());
+    }
+
+    @Test
+    public void itShouldTraverseInParallelInOrder() throws Throwable {
+        List<Integer> values = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+
+        List<Integer> results = Tries.traverseParallel(values, x -> x * 2).get();
+
+        assertEquals(values.size(), results.size());
+        assertEquals(Integer.valueOf(2 * 5000), results.get(5000));
+        results.add(-1);
+        assertEquals(values.size() + 1, results.size());
+    }
+
+    @Test
+    public void itShouldFailParallelTraverseOnAnyFailure() {
+        List<Integer> values = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+
+        Try<List<Integer>> t = Tries.traverseParallel(values, x -> {
+            if (x == 70000) {
+                throw new IllegalStateException();
+            }
+            return x;
+        });
+
+        assertFalse(t.isSuccess());
+    }
+
+    @Test
+    public void itShouldPartitionInParallel() {
+        List<Integer> values = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+
+        Tries.Partition<Integer> p = Tries.partitionParallel(values, x -> {
+            if (x % 10 == 0) {
+                throw new IllegalStateException();
+            }
+            return x;
+        });
+
+        assertEquals(90000, p.successes().size());
+        assertEquals(10000, p.failures().size());
+        assertEquals(10, p.failureIndexes()[1]);
+    }
+}
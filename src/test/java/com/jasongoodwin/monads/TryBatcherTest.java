@@ -0,0 +1,97 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+public class TryBatcherTest {
+
+    private final List<List<Integer>> calls = new CopyOnWriteArrayList<>();
+
+    private Map<Integer, String> load(List<Integer> keys) {
+        calls.add(new ArrayList<>(keys));
+        Map<Integer, String> values = new HashMap<>();
+        for (Integer key : keys) {
+            if (key >= 0) {
+                values.put(key, "v" + key);
+            }
+        }
+        return values;
+    }
+
+    @Test
+    public void itShouldBatchKeysWithinTheWindow() throws Exception {
+        TryBatcher<Integer, String> batcher = new TryBatcher<>(this::load, 100, Duration.ofMillis(20));
+
+        CompletableFuture<String> a = batcher.load(1);
+        CompletableFuture<String> b = batcher.load(2);
+        CompletableFuture<String> c = batcher.load(1);
+
+        assertEquals("v1", a.get());
+        assertEquals("v2", b.get());
+        assertEquals("v1", c.get());
+        assertEquals(Arrays.asList(Arrays.asList(1, 2)), calls);
+    }
+
+    @Test
+    public void itShouldDispatchAFullBatchStraightAway() throws Exception {
+        TryBatcher<Integer, String> batcher = new TryBatcher<>(this::load, 2, Duration.ofSeconds(10), Runnable::run);
+
+        CompletableFuture<String> a = batcher.load(1);
+        assertFalse(a.isDone());
+        batcher.load(2);
+        assertTrue(a.isDone());
+
+        batcher.load(3);
+        batcher.flush();
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)), calls);
+    }
+
+    @Test
+    public void itShouldFailKeysMissingFromTheResult() throws Exception {
+        TryBatcher<Integer, String> batcher = new TryBatcher<>(this::load, 2, Duration.ofSeconds(10), Runnable::run);
+
+        CompletableFuture<String> found = batcher.load(1);
+        CompletableFuture<String> missing = batcher.load(-1);
+
+        assertEquals("v1", found.get());
+        try {
+            missing.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NoSuchElementException);
+        }
+    }
+
+    @Test
+    public void itShouldFailEveryKeyWhenTheBulkCallFails() throws Exception {
+        TryBatcher<Integer, String> batcher = new TryBatcher<>(keys -> {
+            throw new IOException("down");
+        }, 2, Duration.ofSeconds(10), Runnable::run);
+
+        CompletableFuture<String> a = batcher.load(1);
+        CompletableFuture<String> b = batcher.load(2);
+
+        for (CompletableFuture<String> f : Arrays.asList(a, b)) {
+            try {
+                f.get();
+                fail();
+            } catch (ExecutionException e) {
+                assertEquals("down", e.getCause().getMessage());
+            }
+        }
+    }
+}
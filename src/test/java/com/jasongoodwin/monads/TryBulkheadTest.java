@@ -0,0 +1,74 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+public class TryBulkheadTest {
+
+    @Test
+    public void itShouldRejectCallsBeyondTheLimit() {
+        TryBulkhead bulkhead = new TryBulkhead(1);
+
+        Try<Try<Integer>> outer = bulkhead.call(() -> bulkhead.call(() -> 1));
+
+        Try<Integer> inner = outer.orElse(null);
+        assertFalse(inner.isSuccess());
+        assertTrue(((Failure<Integer>) inner).cause() instanceof BulkheadFullException);
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    public void itShouldReleaseThePermitWhenTheCallFails() {
+        TryBulkhead bulkhead = new TryBulkhead(1);
+
+        bulkhead.call(() -> {
+            throw new IllegalStateException();
+        });
+
+        assertTrue(bulkhead.call(() -> 1).isSuccess());
+    }
+
+    @Test
+    public void itShouldQueueAsyncCallsUntilAPermitIsReleased() throws Exception {
+        TryBulkhead bulkhead = new TryBulkhead(1, 1);
+        CompletableFuture<Integer> slow = new CompletableFuture<>();
+
+        CompletableFuture<Integer> first = bulkhead.callAsync(() -> slow);
+        CompletableFuture<Integer> second = bulkhead.callAsync(() -> CompletableFuture.completedFuture(2));
+        CompletableFuture<Integer> third = bulkhead.callAsync(() -> CompletableFuture.completedFuture(3));
+
+        assertFalse(second.isDone());
+        try {
+            third.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof BulkheadFullException);
+        }
+
+        slow.complete(1);
+        assertEquals(1, first.get().intValue());
+        assertEquals(2, second.get().intValue());
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    public void itShouldDrainSynchronouslyCompletingCallsWithoutRecursing() throws Exception {
+        TryBulkhead bulkhead = new TryBulkhead(1, 100_000);
+        CompletableFuture<Integer> gate = new CompletableFuture<>();
+        bulkhead.callAsync(() -> gate);
+
+        CompletableFuture<Integer> last = null;
+        for (int i = 0; i < 100_000; i++) {
+            int n = i;
+            last = bulkhead.callAsync(() -> CompletableFuture.completedFuture(n));
+        }
+        gate.complete(0);
+
+        assertEquals(99_999, last.get().intValue());
+        assertEquals(1, bulkhead.availablePermits());
+    }
+}
@@ -0,0 +1,132 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class TryCacheTest {
+    private final AtomicLong now = new AtomicLong();
+    private final TryCache<String, Integer> cache =
+            new TryCache<>(3, Duration.ofSeconds(10), Duration.ofSeconds(1), now::get);
+
+    @Test
+    public void itShouldLoadOnceUntilExpired() throws Throwable {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, cache.get("a", k -> loads.incrementAndGet()).get().intValue());
+        assertEquals(1, cache.get("a", k -> loads.incrementAndGet()).get().intValue());
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertEquals(2, cache.get("a", k -> loads.incrementAndGet()).get().intValue());
+    }
+
+    @Test
+    public void itShouldCacheFailuresForTheirOwnTtl() {
+        AtomicInteger loads = new AtomicInteger();
+        TryMapFunction<String, Integer> failing = k -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException();
+        };
+
+        assertFalse(cache.get("a", failing).isSuccess());
+        assertFalse(cache.get("a", failing).isSuccess());
+        assertEquals(1, loads.get());
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        cache.get("a", failing);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void itShouldNotCacheFailuresWithZeroTtl() {
+        TryCache<String, Integer> noNegative = new TryCache<>(3, Duration.ofSeconds(10), Duration.ZERO, now::get);
+        AtomicInteger loads = new AtomicInteger();
+        TryMapFunction<String, Integer> failing = k -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException();
+        };
+
+        noNegative.get("a", failing);
+        noNegative.get("a", failing);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, noNegative.size());
+    }
+
+    @Test
+    public void itShouldEvictOldestBeyondMaximumSize() {
+        cache.get("a", k -> 1);
+        cache.get("b", k -> 2);
+        cache.get("c", k -> 3);
+        cache.get("d", k -> 4);
+
+        assertEquals(3, cache.size());
+        assertFalse(cache.getIfPresent("a").isPresent());
+        assertTrue(cache.getIfPresent("d").isPresent());
+    }
+
+    @Test
+    public void itShouldCoalesceConcurrentLoads() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            Future<Try<Integer>> first = executor.submit(() -> cache.get("a", k -> {
+                loads.incrementAndGet();
+                release.await();
+                return 1;
+            }));
+            while (loads.get() == 0) {
+                Thread.yield();
+            }
+            Future<Try<Integer>> second = executor.submit(() -> cache.get("a", k -> loads.incrementAndGet()));
+            release.countDown();
+
+            assertEquals(1, first.get().getUnchecked().intValue());
+            assertEquals(1, second.get().getUnchecked().intValue());
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void itShouldShareOneFutureForAsyncLoads() throws Exception {
+        CompletableFuture<Integer> load = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<Try<Integer>> first = cache.getAsync("a", k -> {
+            loads.incrementAndGet();
+            return load;
+        });
+        CompletableFuture<Try<Integer>> second = cache.getAsync("a", k -> {
+            loads.incrementAndGet();
+            return load;
+        });
+        load.complete(5);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(5, second.get().getUnchecked().intValue());
+    }
+
+    @Test
+    public void itShouldKeepLiveEntriesUnderChurnOnOtherKeys() {
+        cache.get("cold", k -> 0);
+        for (int i = 0; i < 20; i++) {
+            cache.invalidate("hot");
+            cache.get("hot", k -> 1);
+        }
+
+        assertTrue(cache.getIfPresent("cold").isPresent());
+        assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,140 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class TryCircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong(Duration.ofHours(1).toNanos());
+    private final TryCircuitBreaker breaker =
+            new TryCircuitBreaker(0.5, 4, Duration.ofSeconds(10), Duration.ofSeconds(5), now::get);
+
+    private void failCalls(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.call(() -> {
+                throw new IllegalStateException();
+            });
+        }
+    }
+
+    @Test
+    public void itShouldStayClosedBelowMinimumCalls() {
+        failCalls(3);
+
+        assertEquals(TryCircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.call(() -> "hey").isSuccess());
+    }
+
+    @Test
+    public void itShouldOpenAtFailureRateAndShortCircuit() {
+        AtomicInteger calls = new AtomicInteger();
+        breaker.call(() -> "hey");
+        failCalls(3);
+
+        Try<Integer> first = breaker.call(calls::incrementAndGet);
+        Try<Integer> second = breaker.call(calls::incrementAndGet);
+
+        assertEquals(TryCircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(0, calls.get());
+        assertSame(first, second);
+        try {
+            first.get();
+            fail();
+        } catch (Throwable e) {
+            assertTrue(e instanceof CircuitBreakerOpenException);
+        }
+    }
+
+    @Test
+    public void itShouldCloseAfterSuccessfulProbe() {
+        failCalls(4);
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        assertTrue(breaker.call(() -> "probe").isSuccess());
+        assertEquals(TryCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void itShouldReopenAfterFailedProbe() {
+        failCalls(4);
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        failCalls(1);
+
+        assertEquals(TryCircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.call(() -> "hey").isSuccess());
+    }
+
+    @Test
+    public void itShouldForgetFailuresOutsideTheWindow() {
+        failCalls(3);
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        failCalls(1);
+
+        assertEquals(TryCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    public void itShouldRejectAsyncCallsWhenOpen() throws Exception {
+        failCalls(4);
+
+        CompletableFuture<String> f = breaker.callAsync(() -> CompletableFuture.completedFuture("hey"));
+
+        try {
+            f.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof CircuitBreakerOpenException);
+        }
+    }
+
+    @Test
+    public void itShouldRecordAsyncFailures() {
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<String> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException());
+            breaker.callAsync(() -> failed);
+        }
+
+        assertEquals(TryCircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    public void itShouldOnlyLetTheProbeCloseTheBreaker() {
+        CompletableFuture<String> admittedWhileClosed = new CompletableFuture<>();
+        breaker.callAsync(() -> admittedWhileClosed);
+        failCalls(4);
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        CompletableFuture<String> probe = new CompletableFuture<>();
+        breaker.callAsync(() -> probe);
+
+        admittedWhileClosed.complete("late");
+        assertEquals(TryCircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        probe.completeExceptionally(new IllegalStateException());
+        assertEquals(TryCircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    public void itShouldReplaceAProbeThatNeverFinishes() {
+        failCalls(4);
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        CompletableFuture<String> stuck = new CompletableFuture<>();
+        breaker.callAsync(() -> stuck);
+
+        assertFalse(breaker.call(() -> "rejected").isSuccess());
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertTrue(breaker.call(() -> "probe").isSuccess());
+        assertEquals(TryCircuitBreaker.State.CLOSED, breaker.state());
+
+        failCalls(1);
+        stuck.completeExceptionally(new IllegalStateException());
+        assertEquals(TryCircuitBreaker.State.CLOSED, breaker.state());
+    }
+}
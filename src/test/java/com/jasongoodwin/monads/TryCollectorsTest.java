@@ -0,0 +1,94 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class TryCollectorsTest {
+    private static Try<Integer> parse(String s) {
+        return Try.ofFailable(() -> Integer.valueOf(s));
+    }
+
+    @Test
+    public void itShouldCollectToTryListOnSuccess() throws Throwable {
+        Try<List<Integer>> t = Stream.of("1", "2", "3").map(TryCollectorsTest::parse).collect(TryCollectors.toTryList());
+
+        assertEquals(Arrays.asList(1, 2, 3), t.get());
+    }
+
+    @Test
+    public void itShouldCollectFirstFailure() {
+        Try<List<Integer>> t = Stream.of("1", "x", "3", "y").map(TryCollectorsTest::parse).collect(TryCollectors.toTryList());
+
+        try {
+            t.get();
+            fail();
+        } catch (Throwable e) {
+            assertTrue(e.getMessage().contains("\"x\""));
+        }
+    }
+
+    @Test
+    public void itShouldHandBackTheFirstFailureAsIs() {
+        Try<Integer> failure = Try.<Integer>failure(new IllegalStateException()).mapFailureContext("id", 42);
+
+        Try<List<Integer>> t = Stream.of(Try.successful(1), failure, Try.successful(3))
+                .collect(TryCollectors.toTryList());
+
+        assertSame(failure, t);
+        assertEquals(42, ((Failure<List<Integer>>) t).context().get("id"));
+    }
+
+    @Test
+    public void itShouldPartitionTrys() {
+        Tries.Partition<Integer> p = Stream.of("1", "x", "3", "y").map(TryCollectorsTest::parse)
+                .collect(TryCollectors.partitioningTry());
+
+        assertEquals(Arrays.asList(1, 3), p.successes());
+        assertArrayEquals(new int[]{1, 3}, p.failureIndexes());
+    }
+
+    @Test
+    public void itShouldCollectSuccessesOnly() {
+        List<Integer> values = Stream.of("1", "x", "3").map(TryCollectorsTest::parse).collect(TryCollectors.successesOnly());
+
+        assertEquals(Arrays.asList(1, 3), values);
+    }
+
+    @Test
+    public void itShouldKeepEncounterOrderOnParallelStreams() throws Throwable {
+        List<Integer> expected = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+
+        Try<List<Integer>> all = expected.parallelStream().map(Try::successful).collect(TryCollectors.toTryList());
+        Tries.Partition<Integer> p = expected.parallelStream()
+                .map(x -> x % 1000 == 0 ? Try.<Integer>failure(new IllegalStateException()) : Try.successful(x))
+                .collect(TryCollectors.partitioningTry());
+        Try<List<Integer>> failed = expected.parallelStream()
+                .map(x -> x == 500 || x == 90000
+                        ? Try.<Integer>failure(new IllegalStateException("" + x)) : Try.successful(x))
+                .collect(TryCollectors.toTryList());
+
+        assertEquals(expected, all.get());
+        assertEquals(99900, p.successes().size());
+        assertEquals(Integer.valueOf(1001), p.successes().get(999));
+        assertEquals(5000, p.failureIndexes()[5]);
+        try {
+            failed.get();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("500", e.getMessage());
+        }
+    }
+
+    @Test
+    public void itShouldStreamZeroOrOneElement() {
+        assertEquals(Arrays.asList("hey"), Try.successful("hey").stream().collect(Collectors.toList()));
+        assertEquals(0, Try.failure(new IllegalStateException()).stream().count());
+    }
+}
@@ -0,0 +1,63 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class TryDoubleTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void itShouldHoldValueOnSuccess() throws Throwable {
+        TryDouble t = TryDouble.ofFailable(() -> Double.parseDouble("2.5"));
+        assertTrue(t.isSuccess());
+        assertEquals(2.5, t.get(), DELTA);
+    }
+
+    @Test
+    public void itShouldBeFailureOnFailure() {
+        TryDouble t = TryDouble.ofFailable(() -> Double.parseDouble("two"));
+        assertFalse(t.isSuccess());
+        assertEquals(-1, t.orElse(-1), DELTA);
+    }
+
+    @Test
+    public void itShouldMapOnSuccess() throws Throwable {
+        TryDouble t = TryDouble.successful(2.5).map(x -> x * 2).flatMap(x -> TryDouble.successful(x + 1));
+        assertEquals(6.0, t.get(), DELTA);
+    }
+
+    @Test
+    public void itShouldPassOnFailureWhenMapping() {
+        TryDouble t = TryDouble.failure(new IllegalStateException());
+        assertSame(t, t.map(x -> x * 2));
+        assertSame(t, t.filter(x -> true));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void itShouldFailIfPredicateIsFalse() throws Throwable {
+        TryDouble.successful(2.5).filter(x -> x < 0).get();
+    }
+
+    @Test
+    public void itShouldRecoverOnFailure() {
+        assertEquals(0.5, TryDouble.ofFailable(() -> {
+            throw new Exception();
+        }).recover(e -> 0.5), DELTA);
+    }
+
+    @Test
+    public void itShouldBridgeToTry() throws Throwable {
+        assertEquals("2.5", TryDouble.successful(2.5).mapToObj(Double::toString).get());
+        assertEquals(Double.valueOf(2.5), TryDouble.successful(2.5).boxed().get());
+        assertFalse(TryDouble.failure(new Exception()).boxed().isSuccess());
+    }
+
+    @Test
+    public void itShouldReturnOptional() {
+        assertEquals(2.5, TryDouble.successful(2.5).toOptional().getAsDouble(), DELTA);
+        assertFalse(TryDouble.failure(new Exception()).toOptional().isPresent());
+    }
+}
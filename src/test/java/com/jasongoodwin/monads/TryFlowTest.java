@@ -0,0 +1,193 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class TryFlowTest {
+
+    @Test
+    public void itShouldMapElementsAsTheyAreRequested() {
+        ListPublisher<String> source = new ListPublisher<>(Arrays.asList("1", "2", "3"));
+        TryFlow.Processor<String, Integer> processor = TryFlow.mapOrTerminate(Integer::parseInt);
+        Recorder<Integer> recorder = new Recorder<>();
+        source.subscribe(processor);
+        processor.subscribe(recorder);
+
+        recorder.subscription.request(2);
+        assertEquals(Arrays.asList(1, 2), recorder.items);
+        assertEquals(2, source.requested);
+
+        recorder.subscription.request(5);
+        assertEquals(Arrays.asList(1, 2, 3), recorder.items);
+        assertTrue(recorder.completed);
+    }
+
+    @Test
+    public void itShouldTerminateOnFailure() {
+        ListPublisher<String> source = new ListPublisher<>(Arrays.asList("1", "x", "3"));
+        TryFlow.Processor<String, Integer> processor = TryFlow.mapOrTerminate(Integer::parseInt);
+        Recorder<Integer> recorder = new Recorder<>();
+        processor.subscribe(recorder);
+        source.subscribe(processor);
+
+        recorder.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(Collections.singletonList(1), recorder.items);
+        assertTrue(recorder.error instanceof NumberFormatException);
+        assertTrue(source.cancelled);
+    }
+
+    @Test
+    public void itShouldDropFailuresAndKeepDemand() {
+        ListPublisher<String> source = new ListPublisher<>(Arrays.asList("1", "x", "3"));
+        TryFlow.Processor<String, Integer> processor = TryFlow.mapOrDrop(Integer::parseInt);
+        Recorder<Integer> recorder = new Recorder<>();
+        source.subscribe(processor);
+        processor.subscribe(recorder);
+
+        recorder.subscription.request(2);
+
+        assertEquals(Arrays.asList(1, 3), recorder.items);
+        assertNull(recorder.error);
+    }
+
+    @Test
+    public void itShouldRouteFailuresToTheSideChannel() {
+        ListPublisher<String> source = new ListPublisher<>(Arrays.asList("1", "x", "3"));
+        List<String> routed = new ArrayList<>();
+        TryFlow.Processor<String, Integer> processor = TryFlow.mapOrRoute(Integer::parseInt, (s, e) -> routed.add(s));
+        Recorder<Integer> recorder = new Recorder<>();
+        source.subscribe(processor);
+        processor.subscribe(recorder);
+
+        recorder.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(Arrays.asList(1, 3), recorder.items);
+        assertEquals(Collections.singletonList("x"), routed);
+        assertTrue(recorder.completed);
+    }
+
+    @Test
+    public void itShouldPublishFuturesInCompletionOrder() {
+        CompletableFuture<Integer> a = new CompletableFuture<>();
+        CompletableFuture<Integer> b = new CompletableFuture<>();
+        CompletableFuture<Integer> c = new CompletableFuture<>();
+        Recorder<Try<Integer>> recorder = new Recorder<>();
+        TryFlow.fromFutures(Arrays.asList(a, b, c)).subscribe(recorder);
+
+        b.complete(2);
+        a.completeExceptionally(new IOException("down"));
+        assertTrue(recorder.items.isEmpty());
+
+        recorder.subscription.request(1);
+        assertEquals(Integer.valueOf(2), recorder.items.get(0).orElse(null));
+
+        recorder.subscription.request(2);
+        assertFalse(recorder.items.get(1).isSuccess());
+        assertFalse(recorder.completed);
+
+        c.complete(3);
+        assertEquals(Integer.valueOf(3), recorder.items.get(2).orElse(null));
+        assertTrue(recorder.completed);
+    }
+
+    @Test
+    public void itShouldStopPublishingWhenCancelled() {
+        CompletableFuture<Integer> a = new CompletableFuture<>();
+        Recorder<Try<Integer>> recorder = new Recorder<>();
+        TryFlow.fromFutures(Collections.singletonList(a)).subscribe(recorder);
+
+        recorder.subscription.request(1);
+        recorder.subscription.cancel();
+        a.complete(1);
+
+        assertTrue(recorder.items.isEmpty());
+        assertFalse(recorder.completed);
+    }
+
+    @Test
+    public void itShouldCompleteAnEmptyListOfFutures() {
+        Recorder<Try<Integer>> recorder = new Recorder<>();
+        TryFlow.fromFutures(Collections.<CompletableFuture<Integer>>emptyList()).subscribe(recorder);
+
+        assertTrue(recorder.completed);
+    }
+
+    private static final class ListPublisher<T> implements TryFlow.Publisher<T> {
+        private final List<T> items;
+        private int index;
+        private long requested;
+        private boolean cancelled;
+
+        ListPublisher(List<T> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void subscribe(TryFlow.Subscriber<? super T> subscriber) {
+            subscriber.onSubscribe(new TryFlow.Subscription() {
+                private boolean emitting;
+                private long demand;
+
+                @Override
+                public void request(long n) {
+                    requested += n;
+                    demand += n;
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (demand > 0 && index < items.size() && !cancelled) {
+                        demand--;
+                        subscriber.onNext(items.get(index++));
+                    }
+                    emitting = false;
+                    if (index == items.size() && !cancelled) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    private static final class Recorder<T> implements TryFlow.Subscriber<T> {
+        final List<T> items = new ArrayList<>();
+        TryFlow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(TryFlow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
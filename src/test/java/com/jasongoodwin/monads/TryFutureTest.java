@@ -0,0 +1,112 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class TryFutureTest {
+    @Test
+    public void itShouldMapOnSuccess() throws Exception {
+        Try<Integer> t = TryFuture.successful("1").<Integer>map(Integer::valueOf).map(x -> x + 1)
+                .toCompletableFuture().get();
+
+        assertEquals(2, t.getUnchecked().intValue());
+    }
+
+    @Test
+    public void itShouldHoldFailureWhenMapThrows() throws Exception {
+        Try<Integer> t = TryFuture.successful("x").<Integer>map(Integer::valueOf).toCompletableFuture().get();
+
+        assertFalse(t.isSuccess());
+    }
+
+    @Test
+    public void itShouldRunStagesInlineWithoutExecutor() throws Exception {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        AtomicReference<Thread> stageThread = new AtomicReference<>();
+        TryFuture<String> t = TryFuture.fromFuture(source).map(x -> {
+            stageThread.set(Thread.currentThread());
+            return x;
+        });
+
+        source.complete("hey");
+
+        assertSame(Thread.currentThread(), stageThread.get());
+        assertEquals("hey", t.toCompletableFuture().get().getUnchecked());
+    }
+
+    @Test
+    public void itShouldFlatMapOnSuccess() throws Exception {
+        Try<Integer> t = TryFuture.successful("1")
+                .flatMap(x -> TryFuture.supply(() -> Integer.valueOf(x)))
+                .toCompletableFuture().get();
+
+        assertEquals(1, t.getUnchecked().intValue());
+    }
+
+    @Test
+    public void itShouldRecoverOnFailure() throws Exception {
+        Try<String> recovered = TryFuture.<String>failure(new IllegalStateException()).recover(e -> "jude")
+                .toCompletableFuture().get();
+        Try<String> recoveredWith = TryFuture.<String>failure(new IllegalStateException())
+                .recoverWith(e -> TryFuture.successful("jude"))
+                .toCompletableFuture().get();
+
+        assertEquals("jude", recovered.getUnchecked());
+        assertEquals("jude", recoveredWith.getUnchecked());
+    }
+
+    @Test
+    public void itShouldFailOnPredicateMiss() throws Exception {
+        Try<String> t = TryFuture.successful("hey").filter(String::isEmpty).toCompletableFuture().get();
+
+        try {
+            t.get();
+            fail();
+        } catch (Throwable e) {
+            assertTrue(e instanceof NoSuchElementException);
+        }
+    }
+
+    @Test
+    public void itShouldRunCallbacks() throws Exception {
+        AtomicReference<String> success = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        IllegalStateException e = new IllegalStateException();
+
+        TryFuture.successful("hey").onSuccess(success::set).toCompletableFuture().get();
+        TryFuture.failure(e).onFailure(failure::set).toCompletableFuture().get();
+
+        assertEquals("hey", success.get());
+        assertSame(e, failure.get());
+    }
+
+    @Test
+    public void itShouldHoldExecutorRejectionAsFailure() throws Exception {
+        Try<String> t = TryFuture.successful("hey").map(x -> x, r -> {
+            throw new RejectedExecutionException();
+        }).toCompletableFuture().get();
+
+        assertFalse(t.isSuccess());
+    }
+
+    @Test
+    public void itShouldUnwrapToFutureOfValue() throws Exception {
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException());
+
+        assertEquals("hey", TryFuture.successful("hey").unwrap().get());
+        try {
+            TryFuture.fromFuture(failed).unwrap().get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class TryIntTest {
+    @Test
+    public void itShouldHoldValueOnSuccess() throws Throwable {
+        TryInt t = TryInt.ofFailable(() -> Integer.parseInt("5"));
+        assertTrue(t.isSuccess());
+        assertEquals(5, t.get());
+    }
+
+    @Test
+    public void itShouldBeFailureOnFailure() {
+        TryInt t = TryInt.ofFailable(() -> Integer.parseInt("five"));
+        assertFalse(t.isSuccess());
+        assertEquals(-1, t.orElse(-1));
+    }
+
+    @Test
+    public void itShouldMapOnSuccess() throws Throwable {
+        TryInt t = TryInt.successful(5).map(x -> x * 2).flatMap(x -> TryInt.successful(x + 1));
+        assertEquals(11, t.get());
+    }
+
+    @Test
+    public void itShouldPassOnFailureWhenMapping() {
+        TryInt t = TryInt.failure(new IllegalStateException());
+        assertSame(t, t.map(x -> x * 2));
+        assertSame(t, t.filter(x -> true));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void itShouldFailIfPredicateIsFalse() throws Throwable {
+        TryInt.successful(5).filter(x -> x < 0).get();
+    }
+
+    @Test
+    public void itShouldRecoverOnFailure() {
+        assertEquals(7, TryInt.ofFailable(() -> {
+            throw new Exception();
+        }).recover(e -> 7));
+    }
+
+    @Test
+    public void itShouldBridgeToTry() throws Throwable {
+        assertEquals("5", TryInt.successful(5).mapToObj(Integer::toString).get());
+        assertEquals(Integer.valueOf(5), TryInt.successful(5).boxed().get());
+        assertFalse(TryInt.failure(new Exception()).boxed().isSuccess());
+    }
+
+    @Test
+    public void itShouldReturnOptional() {
+        assertEquals(5, TryInt.successful(5).toOptional().getAsInt());
+        assertFalse(TryInt.failure(new Exception()).toOptional().isPresent());
+    }
+}
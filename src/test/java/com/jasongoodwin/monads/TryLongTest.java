@@ -0,0 +1,61 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class TryLongTest {
+    @Test
+    public void itShouldHoldValueOnSuccess() throws Throwable {
+        TryLong t = TryLong.ofFailable(() -> Long.parseLong("5"));
+        assertTrue(t.isSuccess());
+        assertEquals(5L, t.get());
+    }
+
+    @Test
+    public void itShouldBeFailureOnFailure() {
+        TryLong t = TryLong.ofFailable(() -> Long.parseLong("five"));
+        assertFalse(t.isSuccess());
+        assertEquals(-1L, t.orElse(-1));
+    }
+
+    @Test
+    public void itShouldMapOnSuccess() throws Throwable {
+        TryLong t = TryLong.successful(5).map(x -> x * 2).flatMap(x -> TryLong.successful(x + 1));
+        assertEquals(11L, t.get());
+    }
+
+    @Test
+    public void itShouldPassOnFailureWhenMapping() {
+        TryLong t = TryLong.failure(new IllegalStateException());
+        assertSame(t, t.map(x -> x * 2));
+        assertSame(t, t.filter(x -> true));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void itShouldFailIfPredicateIsFalse() throws Throwable {
+        TryLong.successful(5).filter(x -> x < 0).get();
+    }
+
+    @Test
+    public void itShouldRecoverOnFailure() {
+        assertEquals(7L, TryLong.ofFailable(() -> {
+            throw new Exception();
+        }).recover(e -> 7));
+    }
+
+    @Test
+    public void itShouldBridgeToTry() throws Throwable {
+        assertEquals("5", TryLong.successful(5).mapToObj(Long::toString).get());
+        assertEquals(Long.valueOf(5), TryLong.successful(5).boxed().get());
+        assertFalse(TryLong.failure(new Exception()).boxed().isSuccess());
+    }
+
+    @Test
+    public void itShouldReturnOptional() {
+        assertEquals(5L, TryLong.successful(5).toOptional().getAsLong());
+        assertFalse(TryLong.failure(new Exception()).toOptional().isPresent());
+    }
+}
@@ -0,0 +1,91 @@
+package com.jasongoodwin.monads;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class TryMetricsTest {
+    private final TryMetrics metrics = new TryMetrics();
+
+    @After
+    public void uninstall() {
+        Instrumentation.uninstall();
+    }
+
+    @Test
+    public void itShouldCountFailuresPerExceptionClass() {
+        metrics.failure(TryInstrumentation.Operation.MAP, new IllegalStateException());
+        metrics.failure(TryInstrumentation.Operation.MAP, new IllegalStateException());
+        metrics.failure(TryInstrumentation.Operation.MAP, new IllegalArgumentException());
+
+        TryMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertEquals(Long.valueOf(2), snapshot.failures().get(TryInstrumentation.Operation.MAP).get(IllegalStateException.class));
+        assertEquals(Long.valueOf(1), snapshot.failures().get(TryInstrumentation.Operation.MAP).get(IllegalArgumentException.class));
+        assertTrue(snapshot.failures().get(TryInstrumentation.Operation.FLAT_MAP).isEmpty());
+    }
+
+    @Test
+    public void itShouldRecordLatencyPercentiles() {
+        for (int i = 1; i <= 100; i++) {
+            metrics.latency("stage", i * 1000);
+        }
+
+        TryMetrics.LatencySnapshot latency = metrics.snapshot().latencies().get("stage");
+
+        assertEquals(100, latency.count());
+        assertTrue(latency.percentileNanos(0.5) >= 50000);
+        assertTrue(latency.percentileNanos(0.5) < 100000);
+        assertTrue(latency.percentileNanos(1.0) >= 100000);
+    }
+
+    @Test
+    public void itShouldExportSnapshot() {
+        AtomicReference<TryMetrics.Snapshot> exported = new AtomicReference<>();
+        metrics.success(TryInstrumentation.Operation.OF_FAILABLE);
+
+        metrics.exportTo(exported::set);
+
+        assertEquals(Long.valueOf(1), exported.get().successes().get(TryInstrumentation.Operation.OF_FAILABLE));
+    }
+
+    @Test
+    public void itShouldReceiveTryEventsWhenInstalled() {
+        assumeTrue(Instrumentation.ENABLED);
+        Instrumentation.install(metrics);
+
+        Try.ofFailable(() -> "1");
+        Try.ofFailable(() -> "x").<Integer>map(Integer::valueOf).recover(e -> 0);
+        Try.ofFailable(() -> "x").<Integer>map(Integer::valueOf);
+
+        TryMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(Long.valueOf(3), snapshot.successes().get(TryInstrumentation.Operation.OF_FAILABLE));
+        assertEquals(Long.valueOf(2), snapshot.failures().get(TryInstrumentation.Operation.MAP).get(NumberFormatException.class));
+        assertEquals(Long.valueOf(1), snapshot.recoveries().get(NumberFormatException.class));
+    }
+
+    @Test
+    public void itShouldTimeFuturesWhenInstalled() throws Exception {
+        assumeTrue(Instrumentation.ENABLED);
+        CountDownLatch timed = new CountDownLatch(1);
+        TryMetrics latched = new TryMetrics() {
+            @Override
+            public void latency(String stage, long nanos) {
+                super.latency(stage, nanos);
+                timed.countDown();
+            }
+        };
+        Instrumentation.install(latched);
+
+        Futures.supplyTry(() -> "hey").get();
+
+        assertTrue(timed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, latched.snapshot().latencies().get("Futures.supplyTry").count());
+    }
+}
@@ -0,0 +1,89 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TryPipelineTest {
+    @Test
+    public void itShouldNotRunUntilTerminalOperation() {
+        AtomicInteger calls = new AtomicInteger();
+        TryPipeline<Integer> p = Try.lazy(() -> calls.incrementAndGet()).map(x -> x + 1);
+
+        assertEquals(0, calls.get());
+        assertEquals(2, p.orElse(0).intValue());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void itShouldRunAllStagesOnSuccess() throws Throwable {
+        int result = Try.lazy(() -> "1")
+                .<Integer>map(Integer::valueOf)
+                .map(x -> x + 1)
+                .<Integer>flatMap(x -> Try.successful(x * 10))
+                .filter(x -> x > 0)
+                .get();
+
+        assertEquals(20, result);
+    }
+
+    @Test
+    public void itShouldSkipStagesAfterFailure() {
+        AtomicInteger calls = new AtomicInteger();
+        Try<Integer> t = Try.lazy(() -> "not a number")
+                .<Integer>map(Integer::valueOf)
+                .map(x -> calls.incrementAndGet())
+                .toTry();
+
+        assertFalse(t.isSuccess());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void itShouldRecoverFromFailure() throws Throwable {
+        int result = Try.lazy(() -> "not a number")
+                .<Integer>map(Integer::valueOf)
+                .recover(e -> 1)
+                .map(x -> x + 1)
+                .get();
+
+        assertEquals(2, result);
+    }
+
+    @Test
+    public void itShouldRecoverWithFromFailure() throws Throwable {
+        int result = Try.<Integer>lazy(() -> {
+            throw new IllegalStateException();
+        }).recoverWith(e -> Try.successful(5)).get();
+
+        assertEquals(5, result);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void itShouldFailOnPredicateMiss() throws Throwable {
+        Try.lazy(() -> "hey").filter(String::isEmpty).get();
+    }
+
+    @Test
+    public void itShouldReturnTheSameFailureFromFlatMap() {
+        Try<Integer> failure = Try.failure(new IllegalArgumentException());
+        Try<Integer> t = Try.lazy(() -> 1).flatMap(x -> failure).map(x -> x + 1).toTry();
+
+        assertSame(failure, t);
+    }
+
+    @Test
+    public void itShouldBranchWithoutChangingTheOriginalPipeline() {
+        TryPipeline<Integer> p = Try.lazy(() -> 1);
+        TryPipeline<String> s = p.map(x -> "s" + x);
+        TryPipeline<Integer> doubled = p.map(x -> x * 2);
+
+        assertEquals(Integer.valueOf(1), p.orElse(0));
+        assertEquals("s1", s.orElse(""));
+        assertEquals(Integer.valueOf(2), doubled.orElse(0));
+        assertEquals(Integer.valueOf(2), doubled.orElse(0));
+    }
+}
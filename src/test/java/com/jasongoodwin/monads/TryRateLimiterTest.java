@@ -0,0 +1,72 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class TryRateLimiterTest {
+    private final AtomicLong now = new AtomicLong(Duration.ofHours(1).toNanos());
+    private final TryRateLimiter limiter = new TryRateLimiter(2, Duration.ofSeconds(1), 0, now::get);
+
+    @Test
+    public void itShouldAllowABurstUpToThePermits() {
+        assertTrue(limiter.call(() -> 1).isSuccess());
+        assertTrue(limiter.call(() -> 2).isSuccess());
+
+        Try<Integer> rejected = limiter.call(() -> 3);
+        assertFalse(rejected.isSuccess());
+        assertTrue(((Failure<Integer>) rejected).cause() instanceof RateLimitExceededException);
+    }
+
+    @Test
+    public void itShouldShareOnePreallocatedFailure() {
+        limiter.call(() -> 1);
+        limiter.call(() -> 2);
+
+        Try<Integer> first = limiter.call(() -> 3);
+        Try<String> second = limiter.call(() -> "4");
+
+        assertSame(first, second);
+        assertEquals(0, ((Failure<Integer>) first).cause().getStackTrace().length);
+    }
+
+    @Test
+    public void itShouldRefillOverTime() {
+        limiter.call(() -> 1);
+        limiter.call(() -> 2);
+
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+
+        assertTrue(limiter.call(() -> 3).isSuccess());
+        assertFalse(limiter.call(() -> 4).isSuccess());
+    }
+
+    @Test
+    public void itShouldWrapMapFunctions() {
+        assertEquals(Integer.valueOf(2), limiter.<String, Integer>wrap(Integer::parseInt).apply("2").orElse(0));
+    }
+
+    @Test
+    public void itShouldQueueAsyncCallsUntilATokenIsDue() throws Exception {
+        TryRateLimiter queued = new TryRateLimiter(1, Duration.ofMillis(50), 1);
+
+        CompletableFuture<Integer> first = queued.callAsync(() -> CompletableFuture.completedFuture(1));
+        CompletableFuture<Integer> second = queued.callAsync(() -> CompletableFuture.completedFuture(2));
+        CompletableFuture<Integer> third = queued.callAsync(() -> CompletableFuture.completedFuture(3));
+
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(2, second.get().intValue());
+        try {
+            third.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RateLimitExceededException);
+        }
+    }
+}
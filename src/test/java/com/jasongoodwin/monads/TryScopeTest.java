@@ -0,0 +1,163 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class TryScopeTest {
+
+    @Test
+    public void itShouldJoinEverySubtask() throws Throwable {
+        try (TryScope scope = TryScope.shutdownOnFailure()) {
+            TryScope.Subtask<Integer> a = scope.fork(() -> 1);
+            TryScope.Subtask<String> b = scope.fork(() -> "2");
+            scope.join();
+
+            assertEquals(Integer.valueOf(1), a.join().get());
+            assertEquals("2", b.join().get());
+            assertFalse(scope.firstFailure().isPresent());
+        }
+    }
+
+    @Test
+    public void itShouldInterruptSiblingsOnFailure() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (TryScope scope = TryScope.shutdownOnFailure()) {
+            TryScope.Subtask<Integer> slow = scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return 1;
+            });
+            scope.fork(() -> {
+                throw new IOException("down");
+            });
+            scope.join();
+
+            assertEquals("down", scope.firstFailure().get().getMessage());
+            assertFalse(slow.join().isSuccess());
+            assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void itShouldKeepTheFirstSuccess() throws Throwable {
+        try (TryScope scope = TryScope.shutdownOnSuccess()) {
+            scope.fork(() -> {
+                throw new IOException("replica down");
+            });
+            scope.fork(() -> {
+                Thread.sleep(10_000);
+                return "slow";
+            });
+            scope.fork(() -> "fast");
+            scope.join();
+
+            assertEquals("fast", scope.<String>firstSuccess().get());
+        }
+    }
+
+    @Test
+    public void itShouldFailFirstSuccessWhenNoSubtaskSucceeds() throws Exception {
+        try (TryScope scope = TryScope.shutdownOnSuccess()) {
+            scope.fork(() -> {
+                throw new IOException("a");
+            });
+            scope.fork(() -> {
+                throw new IOException("b");
+            });
+            scope.join();
+
+            Try<String> result = scope.firstSuccess();
+            assertFalse(result.isSuccess());
+            assertEquals(2, ((Failure<String>) result).cause().getSuppressed().length);
+        }
+    }
+
+    @Test
+    public void itShouldCancelSubtasksOnClose() throws Exception {
+        TryScope.Subtask<Integer> subtask;
+        try (TryScope scope = TryScope.shutdownOnFailure()) {
+            subtask = scope.fork(() -> {
+                Thread.sleep(10_000);
+                return 1;
+            });
+        }
+
+        Try<Integer> result = subtask.join();
+        assertTrue(((Failure<Integer>) result).cause() instanceof CancellationException);
+    }
+
+    @Test
+    public void itShouldWaitOnCloseForSubtasksIgnoringInterrupts() throws Exception {
+        AtomicBoolean finished = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(1);
+        try (TryScope scope = TryScope.shutdownOnFailure()) {
+            scope.fork(() -> {
+                started.countDown();
+                long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+                while (System.nanoTime() < until) {
+                    Thread.interrupted();
+                }
+                finished.set(true);
+                return 1;
+            });
+            started.await();
+        }
+
+        assertTrue(finished.get());
+    }
+
+    @Test
+    public void itShouldCompleteSiblingsBeforeJoinReturns() throws Exception {
+        try (TryScope scope = TryScope.shutdownOnFailure()) {
+            TryScope.Subtask<Integer> slow = scope.fork(() -> {
+                Thread.sleep(10_000);
+                return 1;
+            });
+            scope.fork(() -> {
+                throw new IOException("down");
+            });
+            scope.join();
+
+            assertTrue(slow.isDone());
+        }
+    }
+
+    @Test
+    public void itShouldTimeOutJoin() throws Exception {
+        try (TryScope scope = TryScope.shutdownOnFailure()) {
+            TryScope.Subtask<Integer> subtask = scope.fork(() -> {
+                Thread.sleep(10_000);
+                return 1;
+            });
+            scope.join(Duration.ofMillis(20));
+
+            assertTrue(((Failure<Integer>) subtask.join()).cause() instanceof StacklessTimeoutException);
+        }
+    }
+
+    @Test
+    public void itShouldNotRunSubtasksForkedAfterShutdown() throws Exception {
+        try (TryScope scope = TryScope.shutdownOnFailure()) {
+            scope.shutdown();
+            TryScope.Subtask<Integer> subtask = scope.fork(() -> {
+                fail();
+                return 1;
+            });
+
+            assertFalse(subtask.join().isSuccess());
+        }
+    }
+}
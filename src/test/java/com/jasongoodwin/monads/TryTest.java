@@ -2,7 +2,17 @@ package com.jasongoodwin.monads;
 
 import org.junit.Test;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -260,6 +270,350 @@ public class TryTest {
         assertEquals(result, "Ok");
     }
 
+    @Test
+    public void itShouldCreateFailureWithoutStackTrace() {
+        Try<String> t = Try.failureNoTrace("expected");
 
-}
+        assertFalse(t.isSuccess());
+        try {
+            t.get();
+            fail();
+        } catch (Throwable e) {
+            assertTrue(e instanceof StacklessException);
+            assertEquals("expected", e.getMessage());
+            assertEquals(0, e.getStackTrace().length);
+        }
+    }
+
+    @Test
+    public void itShouldReturnSharedStacklessFailureIfPredicateIsFalse() throws Throwable {
+        Try<String> t1 = Try.<String>ofFailable(() -> "yo mama").filterNoTrace(s -> s.length() < 0);
+        Try<String> t2 = Try.<String>ofFailable(() -> "yo").filterNoTrace(s -> s.length() < 0);
+        Try<String> t3 = Try.<String>ofFailable(() -> "yo mama").filterNoTrace(s -> s.length() > 0);
+
+        assertFalse(t1.isSuccess());
+        assertSame(t1, t2);
+        assertTrue(t3.isSuccess());
+        try {
+            t1.get();
+            fail();
+        } catch (PredicateMismatchException e) {
+            assertEquals(0, e.getStackTrace().length);
+            e.addSuppressed(new IllegalStateException());
+            assertEquals(0, e.getSuppressed().length);
+        }
+    }
+
+    @Test
+    public void itShouldPassTheSameFailureOnMapAndFlatMap() {
+        Try<String> t = Try.failure(new IllegalArgumentException());
+
+        assertSame(t, t.map(x -> 5));
+        assertSame(t, t.flatMap(x -> Try.successful(5)));
+    }
+
+    @Test
+    public void itShouldRunAsyncAndHoldFailure() throws Exception {
+        Try<String> success = Try.async(() -> "hey").get();
+        Try<String> failure = Try.<String>async(() -> {
+            throw new Exception("e");
+        }).get();
+
+        assertEquals("hey", success.getUnchecked());
+        assertFalse(failure.isSuccess());
+    }
+
+    @Test
+    public void itShouldHoldRejectionAsFailure() throws Exception {
+        Try<String> t = Try.async(() -> "hey", r -> {
+            throw new RejectedExecutionException();
+        }).get();
+
+        assertFalse(t.isSuccess());
+    }
+
+    @Test
+    public void itShouldRetryUntilSuccess() throws Throwable {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Try<Integer> t = Try.retry(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException();
+            }
+            return attempts.get();
+        }, RetryPolicy.maxAttempts(5).withBackoff(Duration.ofMillis(1), Duration.ofMillis(5)));
+
+        assertEquals(3, t.get().intValue());
+    }
+
+    @Test
+    public void itShouldStopRetryingAtMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Try<Integer> t = Try.retry(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException();
+        }, RetryPolicy.maxAttempts(3));
+
+        assertFalse(t.isSuccess());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void itShouldNotRetryFailuresRejectedByPolicy() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Try<Integer> t = Try.retry(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException();
+        }, RetryPolicy.maxAttempts(3).retryOn(e -> e instanceof IllegalStateException));
+
+        assertFalse(t.isSuccess());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void itShouldStopRetryingAtDeadline() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Try<Integer> t = Try.retry(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException();
+        }, RetryPolicy.maxAttempts(100)
+                .withBackoff(Duration.ofMillis(20), Duration.ofMillis(20))
+                .withDeadline(Duration.ofMillis(50)));
+
+        assertFalse(t.isSuccess());
+        assertTrue(attempts.get() < 5);
+    }
+
+    @Test
+    public void itShouldFoldBothOutcomes() {
+        String success = Try.ofFailable(() -> Integer.valueOf("1")).fold(x -> "number " + x, e -> "not a number");
+        String failure = Try.ofFailable(() -> Integer.valueOf("x")).fold(x -> "number " + x, e -> "not a number");
+
+        assertEquals("number 1", success);
+        assertEquals("not a number", failure);
+    }
+
+    @Test
+    public void itShouldExposeValueAndCauseAfterMatching() {
+        IllegalStateException e = new IllegalStateException();
+        Try<String> success = Try.successful("hey");
+        Try<String> failure = Try.failure(e);
+
+        assertTrue(success instanceof Success);
+        assertEquals("hey", ((Success<String>) success).value());
+        assertTrue(failure instanceof Failure);
+        assertSame(e, ((Failure<String>) failure).cause());
+    }
+
+    @Test
+    public void itShouldInterruptSupplierAtDeadline() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        Try<String> t = Try.ofFailable(() -> {
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "late";
+        }, Duration.ofMillis(20));
 
+        assertFalse(t.isSuccess());
+        assertTrue(t.fold(x -> false, e -> e instanceof StacklessTimeoutException));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void itShouldReturnResultWithinDeadline() throws Throwable {
+        assertEquals("hey", Try.ofFailable(() -> "hey", Duration.ofSeconds(10)).get());
+        assertFalse(Try.ofFailable(() -> {
+            throw new IllegalStateException();
+        }, Duration.ofSeconds(10)).isSuccess());
+    }
+
+    private static class Resource implements AutoCloseable {
+        private final List<String> log;
+        private final String name;
+        private final boolean failOnClose;
+
+        Resource(List<String> log, String name, boolean failOnClose) {
+            this.log = log;
+            this.name = name;
+            this.failOnClose = failOnClose;
+        }
+
+        @Override
+        public void close() {
+            log.add("close " + name);
+            if (failOnClose) {
+                throw new IllegalStateException("close " + name);
+            }
+        }
+    }
+
+    @Test
+    public void itShouldCloseResourceOnSuccess() throws Throwable {
+        List<String> log = new ArrayList<>();
+
+        Try<String> t = Try.withResources(() -> new Resource(log, "a", false), r -> r.name);
+
+        assertEquals("a", t.get());
+        assertEquals(Arrays.asList("close a"), log);
+    }
+
+    @Test
+    public void itShouldAttachCloseFailureAsSuppressed() {
+        List<String> log = new ArrayList<>();
+
+        Try<String> t = Try.withResources(() -> new Resource(log, "a", true), r -> {
+            throw new IOException("read");
+        });
+
+        Throwable e = t.fold(x -> null, x -> x);
+        assertTrue(e instanceof IOException);
+        assertEquals("close a", e.getSuppressed()[0].getMessage());
+    }
+
+    @Test
+    public void itShouldFailWhenOnlyCloseFails() {
+        Try<String> t = Try.withResources(() -> new Resource(new ArrayList<>(), "a", true), r -> r.name);
+
+        assertEquals("close a", t.fold(x -> null, Throwable::getMessage));
+    }
+
+    @Test
+    public void itShouldCloseBothResourcesInReverseOrder() throws Throwable {
+        List<String> log = new ArrayList<>();
+
+        Try<String> t = Try.withResources(
+                () -> new Resource(log, "a", false),
+                () -> new Resource(log, "b", false),
+                (a, b) -> a.name + b.name);
+
+        assertEquals("ab", t.get());
+        assertEquals(Arrays.asList("close b", "close a"), log);
+    }
+
+    @Test
+    public void itShouldCloseFirstResourceWhenSecondFailsToOpen() {
+        List<String> log = new ArrayList<>();
+
+        Try<String> t = Try.<Resource, Resource, String>withResources(
+                () -> new Resource(log, "a", false),
+                () -> {
+                    throw new IOException("open b");
+                },
+                (a, b) -> a.name + b.name);
+
+        assertFalse(t.isSuccess());
+        assertEquals(Arrays.asList("close a"), log);
+    }
+
+    @Test
+    public void itShouldReturnResourceToPool() throws Throwable {
+        List<String> log = new ArrayList<>();
+        ResourcePool<String> pool = new ResourcePool<String>() {
+            @Override
+            public String borrow() {
+                log.add("borrow");
+                return "connection";
+            }
+
+            @Override
+            public void release(String resource) {
+                log.add("release");
+            }
+
+            @Override
+            public void invalidate(String resource) {
+                log.add("invalidate");
+            }
+        };
+
+        Try<Integer> success = Try.withResources(pool, String::length);
+        Try<Integer> failure = Try.withResources(pool, r -> {
+            throw new IOException();
+        });
+
+        assertEquals(10, success.get().intValue());
+        assertFalse(failure.isSuccess());
+        assertEquals(Arrays.asList("borrow", "release", "borrow", "invalidate"), log);
+    }
+
+    @Test
+    public void itShouldKeepFailureContextWithoutWrapping() {
+        IOException cause = new IOException("down");
+
+        Try<Integer> t = Try.<Integer>failure(cause)
+                .mapFailureContext("requestId", 42)
+                .map(x -> x + 1)
+                .mapFailureContext("stage", "parse");
+
+        Failure<Integer> failure = (Failure<Integer>) t;
+        assertSame(cause, failure.cause());
+        assertEquals(Arrays.asList("requestId", "stage"), new ArrayList<>(failure.context().keySet()));
+        assertEquals(42, failure.context().get("requestId"));
+        assertEquals(0, cause.getSuppressed().length);
+    }
+
+    @Test
+    public void itShouldIgnoreFailureContextOnSuccess() {
+        Try<Integer> t = Try.successful(1);
+
+        assertSame(t, t.mapFailureContext("stage", "parse"));
+    }
+
+    @Test
+    public void itShouldNotChangeTheCauseWhenThrowingWithContext() {
+        IllegalStateException cause = new IllegalStateException("down");
+        Try<Integer> t = Try.<Integer>failure(cause).mapFailureContext("stage", "parse");
+
+        try {
+            t.getOrRethrow();
+            fail();
+        } catch (IllegalStateException e) {
+            assertSame(cause, e);
+        }
+        try {
+            t.getUnchecked();
+            fail();
+        } catch (RuntimeException e) {
+            assertSame(cause, e.getCause());
+            FailureContextException context = (FailureContextException) e.getSuppressed()[0];
+            assertEquals("parse", context.getContext().get("stage"));
+            assertEquals("Failure context: {stage=parse}", context.getMessage());
+        }
+
+        assertEquals(0, cause.getSuppressed().length);
+    }
+
+    @Test
+    public void itShouldNotLeakContextIntoTheSharedFilterFailure() {
+        for (int i = 0; i < 3; i++) {
+            try {
+                Try.successful(1).filterNoTrace(x -> false).mapFailureContext("req", i).getUnchecked();
+                fail();
+            } catch (RuntimeException e) {
+                assertEquals(0, e.getCause().getSuppressed().length);
+                assertEquals(1, e.getSuppressed().length);
+            }
+        }
+    }
+
+    @Test
+    public void itShouldWrapCheckedCausesInGetOrRethrow() {
+        IOException cause = new IOException("down");
+
+        try {
+            Try.<Integer>failure(cause).getOrRethrow();
+            fail();
+        } catch (StacklessException e) {
+            assertSame(cause, e.getCause());
+        }
+        assertEquals(Integer.valueOf(1), Try.successful(1).getOrRethrow());
+    }
+}
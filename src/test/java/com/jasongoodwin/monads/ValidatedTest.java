@@ -0,0 +1,79 @@
+package com.jasongoodwin.monads;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ValidatedTest {
+    private static Validated<String, String> name(String s) {
+        return s.isEmpty() ? Validated.invalid("name is empty") : Validated.valid(s);
+    }
+
+    private static Validated<String, Integer> age(int age) {
+        return age < 0 ? Validated.invalid("age is negative") : Validated.valid(age);
+    }
+
+    @Test
+    public void itShouldCombineValidValues() {
+        Validated<String, String> v = Validated.mapN(name("jude"), age(5), (n, a) -> n + a);
+
+        assertTrue(v.isValid());
+        assertEquals("jude5", v.get());
+    }
+
+    @Test
+    public void itShouldAccumulateAllErrors() {
+        Validated<String, String> v = Validated.mapN(name(""), age(-1), name(""), (n, a, n2) -> n + a + n2);
+
+        assertFalse(v.isValid());
+        assertEquals(Arrays.asList("name is empty", "age is negative", "name is empty"), v.getErrors());
+    }
+
+    @Test
+    public void itShouldKeepErrorsOfTheInvalidSideOnly() {
+        Validated<String, String> v = name("jude").combine(age(-1), (n, a) -> n + a);
+
+        assertEquals(Arrays.asList("age is negative"), v.getErrors());
+    }
+
+    @Test
+    public void itShouldSequenceManyValidations() {
+        List<Validated<String, Integer>> fields = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            fields.add(age(i % 3 == 0 ? -1 : i));
+        }
+
+        Validated<String, List<Integer>> v = Validated.sequence(fields);
+
+        assertEquals(10, v.getErrors().size());
+    }
+
+    @Test
+    public void itShouldConvertToAndFromTry() throws Throwable {
+        Try<String> failure = Validated.<String, String>invalid("bad").toTry();
+        Validated<Throwable, Integer> fromFailure = Validated.fromTry(Try.failure(new IllegalStateException()));
+
+        assertEquals("jude", name("jude").toTry().get());
+        try {
+            failure.get();
+            fail();
+        } catch (ValidationException e) {
+            assertEquals(Arrays.asList("bad"), e.getErrors());
+            assertEquals(0, e.getStackTrace().length);
+        }
+        assertTrue(Validated.fromTry(Try.successful(1)).isValid());
+        assertTrue(fromFailure.getErrors().get(0) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void itShouldBuildCustomFailure() {
+        Try<String> t = name("").toTry(errors -> new IllegalArgumentException(String.join(",", errors)));
+
+        assertFalse(t.isSuccess());
+        assertEquals("name is empty", t.recover(Throwable::getMessage));
+    }
+}